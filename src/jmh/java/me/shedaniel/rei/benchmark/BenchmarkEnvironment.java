@@ -0,0 +1,162 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.shedaniel.rei.benchmark;
+
+import com.google.common.collect.Lists;
+import me.shedaniel.rei.RoughlyEnoughItemsCore;
+import me.shedaniel.rei.api.EntryStack;
+import me.shedaniel.rei.api.RecipeCategory;
+import me.shedaniel.rei.api.RecipeDisplay;
+import me.shedaniel.rei.impl.ConfigManagerImpl;
+import net.minecraft.Bootstrap;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.item.Items;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.registry.Registry;
+
+import java.lang.reflect.Field;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Sets up just enough of the game and REI to run the benchmarks outside of the game, and creates synthetic registries.
+ */
+public final class BenchmarkEnvironment {
+    private static boolean initialized = false;
+    
+    private BenchmarkEnvironment() {
+    }
+    
+    public static synchronized void initialize() {
+        if (initialized)
+            return;
+        initialized = true;
+        Bootstrap.initialize();
+        try {
+            Field field = RoughlyEnoughItemsCore.class.getDeclaredField("configManager");
+            field.setAccessible(true);
+            field.set(null, new ConfigManagerImpl());
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Failed to set up the config of REI!", e);
+        }
+    }
+    
+    public static List<Item> getItems() {
+        List<Item> items = Lists.newArrayList();
+        for (Item item : Registry.ITEM) {
+            if (item != Items.AIR)
+                items.add(item);
+        }
+        return items;
+    }
+    
+    /**
+     * Creates distinct item entries by cycling through the item registry, once every item is used the entries are
+     * made distinct with a tag, the same way modded registries are filled with variants of an item.
+     */
+    public static List<EntryStack> createEntries(int size) {
+        List<Item> items = getItems();
+        List<EntryStack> entries = Lists.newArrayListWithCapacity(size);
+        for (int i = 0; i < size; i++) {
+            ItemStack stack = new ItemStack(items.get(i % items.size()));
+            int variant = i / items.size();
+            if (variant > 0) {
+                CompoundTag tag = new CompoundTag();
+                tag.putInt("Variant", variant);
+                stack.setTag(tag);
+            }
+            entries.add(EntryStack.create(stack));
+        }
+        return entries;
+    }
+    
+    /**
+     * Creates displays crafting each entry from up to 9 other random entries.
+     */
+    public static List<RecipeDisplay> createDisplays(Identifier category, List<EntryStack> entries, int size, long seed) {
+        Random random = new Random(seed);
+        List<RecipeDisplay> displays = Lists.newArrayListWithCapacity(size);
+        for (int i = 0; i < size; i++) {
+            List<List<EntryStack>> inputs = Lists.newArrayList();
+            int slots = 1 + random.nextInt(9);
+            for (int j = 0; j < slots; j++)
+                inputs.add(Collections.singletonList(entries.get(random.nextInt(entries.size()))));
+            displays.add(new SyntheticDisplay(category, inputs, Collections.singletonList(entries.get(i % entries.size()))));
+        }
+        return displays;
+    }
+    
+    public static class SyntheticCategory implements RecipeCategory<SyntheticDisplay> {
+        private final Identifier identifier;
+        
+        public SyntheticCategory(Identifier identifier) {
+            this.identifier = identifier;
+        }
+        
+        @Override
+        public Identifier getIdentifier() {
+            return identifier;
+        }
+        
+        @Override
+        public String getCategoryName() {
+            return identifier.toString();
+        }
+    }
+    
+    public static class SyntheticDisplay implements RecipeDisplay {
+        private final Identifier category;
+        private final List<List<EntryStack>> inputs;
+        private final List<EntryStack> outputs;
+        
+        public SyntheticDisplay(Identifier category, List<List<EntryStack>> inputs, List<EntryStack> outputs) {
+            this.category = category;
+            this.inputs = inputs;
+            this.outputs = outputs;
+        }
+        
+        @Override
+        public List<List<EntryStack>> getInputEntries() {
+            return inputs;
+        }
+        
+        @Override
+        public List<EntryStack> getOutputEntries() {
+            return outputs;
+        }
+        
+        @Override
+        public List<List<EntryStack>> getRequiredEntries() {
+            return inputs;
+        }
+        
+        @Override
+        public Identifier getRecipeCategory() {
+            return category;
+        }
+    }
+}
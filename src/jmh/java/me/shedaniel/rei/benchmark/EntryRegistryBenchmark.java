@@ -0,0 +1,111 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.shedaniel.rei.benchmark;
+
+import me.shedaniel.rei.api.ConfigObject;
+import me.shedaniel.rei.api.EntryRegistry;
+import me.shedaniel.rei.api.EntryStack;
+import me.shedaniel.rei.api.RecipeHelper;
+import me.shedaniel.rei.impl.EntryRegistryImpl;
+import me.shedaniel.rei.impl.RecipeHelperImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks removing duplicates from and filtering a registry, where a tenth of the entries are registered twice
+ * and a hundredth of them are hidden by the manual filtering rule.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class EntryRegistryBenchmark {
+    @State(Scope.Benchmark)
+    public static class RegistryState {
+        @Param({"10000", "100000"})
+        public int entries;
+        EntryRegistryImpl registry;
+        List<EntryStack> stacks;
+        
+        @Setup
+        public void setup() {
+            BenchmarkEnvironment.initialize();
+            registry = (EntryRegistryImpl) EntryRegistry.getInstance();
+            stacks = BenchmarkEnvironment.createEntries(entries);
+            List<EntryStack> filteredStacks = ConfigObject.getInstance().getFilteredStacks();
+            filteredStacks.clear();
+            for (int i = 0; i < stacks.size(); i += 100)
+                filteredStacks.add(stacks.get(i).copy());
+        }
+        
+        void register() throws ReflectiveOperationException {
+            registry.reset();
+            setPluginsLoading(true);
+            try {
+                registry.registerEntriesAfter(null, stacks);
+                for (int i = 0; i < stacks.size(); i += 10)
+                    registry.registerEntry(stacks.get(i).copy());
+            } finally {
+                setPluginsLoading(false);
+            }
+        }
+        
+        private static void setPluginsLoading(boolean loading) throws ReflectiveOperationException {
+            Field field = RecipeHelperImpl.class.getDeclaredField("arePluginsLoading");
+            field.setAccessible(true);
+            field.setBoolean(RecipeHelper.getInstance(), loading);
+        }
+    }
+    
+    public static class DistinctState extends RegistryState {
+        @Setup(Level.Invocation)
+        public void setupInvocation() throws ReflectiveOperationException {
+            register();
+        }
+    }
+    
+    public static class RefilterState extends RegistryState {
+        @Setup
+        public void setupRegistry() throws ReflectiveOperationException {
+            register();
+            registry.distinct();
+        }
+    }
+    
+    @Benchmark
+    public List<EntryStack> distinct(DistinctState state) {
+        state.registry.distinct();
+        return state.registry.getStacksList();
+    }
+    
+    @Benchmark
+    public List<EntryStack> refilter(RefilterState state) {
+        state.registry.refilter();
+        return state.registry.getPreFilteredList();
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.shedaniel.rei.benchmark;
+
+import me.shedaniel.rei.api.EntryStack;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the equality and hash methods of item entries, comparing every entry against an equal copy and against its neighbour.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class EntryStackBenchmark {
+    @Param({"10000", "100000"})
+    public int entries;
+    private EntryStack[] stacks;
+    private EntryStack[] copies;
+    
+    @Setup
+    public void setup() {
+        BenchmarkEnvironment.initialize();
+        List<EntryStack> list = BenchmarkEnvironment.createEntries(entries);
+        stacks = list.toArray(new EntryStack[0]);
+        copies = new EntryStack[stacks.length];
+        for (int i = 0; i < stacks.length; i++)
+            copies[i] = stacks[i].copy();
+    }
+    
+    @Benchmark
+    public int hashCodes() {
+        int hash = 0;
+        for (EntryStack stack : stacks)
+            hash += stack.hashCode();
+        return hash;
+    }
+    
+    @Benchmark
+    public int hashIgnoreAmount() {
+        int hash = 0;
+        for (EntryStack stack : stacks)
+            hash += stack.hashIgnoreAmount();
+        return hash;
+    }
+    
+    @Benchmark
+    public int equalsIgnoreAmount() {
+        int equal = 0;
+        for (int i = 0; i < stacks.length; i++) {
+            if (stacks[i].equalsIgnoreAmount(copies[i]))
+                equal++;
+            if (stacks[i].equalsIgnoreAmount(copies[(i + 1) % copies.length]))
+                equal++;
+        }
+        return equal;
+    }
+    
+    @Benchmark
+    public int equalsIgnoreTags() {
+        int equal = 0;
+        for (int i = 0; i < stacks.length; i++) {
+            if (stacks[i].equalsIgnoreTags(copies[i]))
+                equal++;
+            if (stacks[i].equalsIgnoreTags(copies[(i + 1) % copies.length]))
+                equal++;
+        }
+        return equal;
+    }
+    
+    @Benchmark
+    public int equalsAll() {
+        int equal = 0;
+        for (int i = 0; i < stacks.length; i++) {
+            if (stacks[i].equalsAll(copies[i]))
+                equal++;
+            if (stacks[i].equalsAll(copies[(i + 1) % copies.length]))
+                equal++;
+        }
+        return equal;
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.shedaniel.rei.benchmark;
+
+import com.google.common.collect.ImmutableMap;
+import me.shedaniel.rei.api.EntryStack;
+import me.shedaniel.rei.impl.ItemEntryStackView;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares applying the entry list's display settings with a copy of every entry to applying them with a view,
+ * run with {@code -prof gc} to compare the allocations.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class EntryStackViewBenchmark {
+    private static final Map<EntryStack.Settings<?>, Object> DISPLAY_SETTINGS = ImmutableMap.of(EntryStack.Settings.RENDER_COUNTS, EntryStack.Settings.FALSE, EntryStack.Settings.Item.RENDER_ENCHANTMENT_GLINT, EntryStack.Settings.FALSE);
+    @Param({"10000", "100000"})
+    public int entries;
+    private List<EntryStack> stacks;
+    
+    @Setup
+    public void setup() {
+        BenchmarkEnvironment.initialize();
+        stacks = BenchmarkEnvironment.createEntries(entries);
+    }
+    
+    @Benchmark
+    public void copy(Blackhole blackhole) {
+        for (EntryStack stack : stacks)
+            blackhole.consume(stack.copy().setting(EntryStack.Settings.RENDER_COUNTS, EntryStack.Settings.FALSE).setting(EntryStack.Settings.Item.RENDER_ENCHANTMENT_GLINT, EntryStack.Settings.FALSE));
+    }
+    
+    @Benchmark
+    public void view(Blackhole blackhole) {
+        for (EntryStack stack : stacks)
+            blackhole.consume(ItemEntryStackView.of(stack, DISPLAY_SETTINGS));
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.shedaniel.rei.benchmark;
+
+import me.shedaniel.rei.server.RecipeFinder;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.recipe.Ingredient;
+import net.minecraft.util.collection.DefaultedList;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks counting the crafts of a 3x3 recipe, with ingredients accepting a number of alternatives similar to tags.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class RecipeFinderBenchmark {
+    @Param({"1", "16", "64"})
+    public int alternatives;
+    private RecipeFinder finder;
+    private DefaultedList<Ingredient> ingredients;
+    
+    @Setup
+    public void setup() {
+        BenchmarkEnvironment.initialize();
+        List<Item> items = BenchmarkEnvironment.getItems();
+        Random random = new Random(0);
+        ingredients = DefaultedList.ofSize(9, Ingredient.EMPTY);
+        finder = new RecipeFinder();
+        for (int i = 0; i < ingredients.size(); i++) {
+            Item[] ingredientItems = new Item[alternatives];
+            for (int j = 0; j < alternatives; j++)
+                ingredientItems[j] = items.get(random.nextInt(items.size()));
+            ingredients.set(i, Ingredient.ofItems(ingredientItems));
+            // Fill a 36 slot inventory with some of the accepted items
+            for (int j = 0; j < 4; j++)
+                finder.addItem(new ItemStack(ingredientItems[random.nextInt(alternatives)], 1 + random.nextInt(64)));
+        }
+    }
+    
+    @Benchmark
+    public int countRecipeCrafts() {
+        return finder.countRecipeCrafts(ingredients, null);
+    }
+}
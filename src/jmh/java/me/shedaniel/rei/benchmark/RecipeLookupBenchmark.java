@@ -0,0 +1,102 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.shedaniel.rei.benchmark;
+
+import me.shedaniel.rei.api.*;
+import me.shedaniel.rei.impl.RecipeHelperImpl;
+import net.minecraft.util.ActionResult;
+import net.minecraft.util.Identifier;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks looking up recipes, usages and craftable entries in a synthetic category with a display for every entry.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class RecipeLookupBenchmark {
+    private static final Identifier CATEGORY = new Identifier("benchmark", "crafting");
+    @Param({"10000", "100000"})
+    public int entries;
+    private RecipeHelperImpl recipeHelper;
+    private List<EntryStack> stacks;
+    private List<EntryStack> inventory;
+    private List<EntryStack> otherInventory;
+    private Random random;
+    private boolean swapInventory;
+    
+    @Setup
+    public void setup() {
+        BenchmarkEnvironment.initialize();
+        stacks = BenchmarkEnvironment.createEntries(entries);
+        recipeHelper = new RecipeHelperImpl();
+        recipeHelper.registerCategory(new BenchmarkEnvironment.SyntheticCategory(CATEGORY));
+        for (RecipeDisplay display : BenchmarkEnvironment.createDisplays(CATEGORY, stacks, entries, 0))
+            recipeHelper.registerDisplay(display);
+        recipeHelper.registerRecipeVisibilityHandler(new DisplayVisibilityHandler() {
+            @Override
+            public ActionResult handleDisplay(RecipeCategory<?> category, RecipeDisplay display) {
+                return ActionResult.SUCCESS;
+            }
+        });
+        random = new Random(0);
+        inventory = stacks.subList(0, 41);
+        otherInventory = stacks.subList(41, 82);
+        // Builds the indices outside of the measurement
+        recipeHelper.buildMapFor(ClientHelper.ViewSearchBuilder.builder().addRecipesFor(stacks.get(0)));
+        recipeHelper.findCraftableEntriesByItems(inventory);
+    }
+    
+    @Benchmark
+    public Map<RecipeCategory<?>, List<RecipeDisplay>> buildMapForRecipes() {
+        return recipeHelper.buildMapFor(ClientHelper.ViewSearchBuilder.builder().addRecipesFor(stacks.get(random.nextInt(stacks.size()))));
+    }
+    
+    @Benchmark
+    public Map<RecipeCategory<?>, List<RecipeDisplay>> buildMapForUsages() {
+        return recipeHelper.buildMapFor(ClientHelper.ViewSearchBuilder.builder().addUsagesFor(stacks.get(random.nextInt(stacks.size()))));
+    }
+    
+    @Benchmark
+    public List<EntryStack> findCraftableEntriesByItems() {
+        return recipeHelper.findCraftableEntriesByItems(inventory);
+    }
+    
+    /**
+     * Alternates between two inventories, so every call has to re-evaluate the slots of the changed entries.
+     */
+    @Benchmark
+    public List<EntryStack> findCraftableEntriesByChangedItems() {
+        swapInventory = !swapInventory;
+        return recipeHelper.findCraftableEntriesByItems(swapInventory ? otherInventory : inventory);
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.shedaniel.rei.benchmark;
+
+import me.shedaniel.rei.api.EntryStack;
+import me.shedaniel.rei.impl.SearchArgument;
+import me.shedaniel.rei.impl.search.SearchDocumentCache;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class SearchBenchmark {
+    @Param({"10000", "100000"})
+    public int entries;
+    @Param({"stone", "stone -ingot | iron"})
+    public String searchTerm;
+    private List<EntryStack> stacks;
+    private List<SearchArgument.SearchArguments> arguments;
+    
+    @Setup
+    public void setup() {
+        BenchmarkEnvironment.initialize();
+        stacks = BenchmarkEnvironment.createEntries(entries);
+        SearchDocumentCache.rebuild(stacks);
+        arguments = SearchArgument.processSearchTerm(searchTerm);
+    }
+    
+    @Benchmark
+    public List<SearchArgument.SearchArguments> processSearchTerm() {
+        return SearchArgument.processSearchTerm(searchTerm);
+    }
+    
+    @Benchmark
+    public int canSearchTermsBeAppliedTo() {
+        int matches = 0;
+        for (EntryStack stack : stacks) {
+            if (SearchArgument.canSearchTermsBeAppliedTo(stack, arguments))
+                matches++;
+        }
+        return matches;
+    }
+}
@@ -105,6 +105,10 @@ public interface ConfigObject {
     
     boolean doesRegisterRecipesInAnotherThread();
     
+    boolean doesRegisterRecipesInParallel();
+    
+    boolean doesCacheReloadResults();
+    
     boolean doesSnapToRows();
     
     boolean isFavoritesEnabled();
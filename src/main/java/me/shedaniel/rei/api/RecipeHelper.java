@@ -239,6 +239,14 @@ public interface RecipeHelper {
     @ApiStatus.Internal
     boolean arePluginsLoading();
     
+    /**
+     * Gets the metrics recorded during the last completed reload
+     *
+     * @return the profile of the last reload, or empty if REI hasn't finished reloading yet
+     */
+    @ApiStatus.Experimental
+    Optional<ReloadProfile> getLastReloadProfile();
+    
     interface ScreenClickArea {
         Class<? extends ContainerScreen> getScreenClass();
         
@@ -0,0 +1,82 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.shedaniel.rei.api;
+
+import com.google.gson.JsonObject;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.minecraft.util.Identifier;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * The metrics recorded while reloading REI, split into a section for each phase of the reload,
+ * and for each plugin in the phases that run the plugins.
+ *
+ * @see RecipeHelper#getLastReloadProfile()
+ */
+@ApiStatus.Experimental
+@Environment(EnvType.CLIENT)
+public interface ReloadProfile {
+    /**
+     * @return the wall time of the whole reload in nanoseconds
+     */
+    long getTotalTimeNanos();
+    
+    /**
+     * @return the sections of the reload, in the order they have finished
+     */
+    @NotNull
+    List<Section> getSections();
+    
+    @NotNull
+    JsonObject toJson();
+    
+    @ApiStatus.Experimental
+    @Environment(EnvType.CLIENT)
+    interface Section {
+        @NotNull
+        String getPhase();
+        
+        /**
+         * @return the plugin that ran in this section, or {@code null} if this section isn't specific to a plugin
+         */
+        @Nullable
+        Identifier getPlugin();
+        
+        long getTimeNanos();
+        
+        /**
+         * @return the bytes allocated by the thread running this section, or {@code -1} if the JVM doesn't support measuring it
+         */
+        long getAllocatedBytes();
+        
+        int getDisplaysAdded();
+        
+        int getEntriesAdded();
+    }
+}
@@ -59,6 +59,19 @@ public interface REIPluginV0 extends REIPluginEntry {
     default void registerRecipeDisplays(RecipeHelper recipeHelper) {
     }
     
+    /**
+     * Declares whether {@link #registerRecipeDisplays(RecipeHelper)} can run in parallel with other plugins.
+     * Calls to the {@link RecipeHelper} from thread safe plugins are deferred and replayed on the client thread in the
+     * plugin order, any other global state must not be mutated in there.
+     *
+     * @return whether registering displays is thread safe
+     */
+    @ApiStatus.Experimental
+    @ApiStatus.OverrideOnly
+    default boolean isRecipeDisplayRegistrationThreadSafe() {
+        return false;
+    }
+    
     /**
      * Registers bounds handlers
      *
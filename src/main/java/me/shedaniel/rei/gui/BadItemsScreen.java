@@ -0,0 +1,93 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.shedaniel.rei.gui;
+
+import me.shedaniel.rei.impl.BadItemRegistry;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.gui.screen.Screen;
+import net.minecraft.client.gui.widget.AbstractButtonWidget;
+import net.minecraft.client.gui.widget.ButtonWidget;
+import net.minecraft.client.util.NarratorManager;
+import net.minecraft.client.util.math.MatrixStack;
+import net.minecraft.text.LiteralText;
+import net.minecraft.util.Formatting;
+import net.minecraft.util.registry.Registry;
+import org.jetbrains.annotations.ApiStatus;
+
+import java.util.List;
+
+@ApiStatus.Internal
+public class BadItemsScreen extends Screen {
+    private final Screen parent;
+    private AbstractButtonWidget buttonBack;
+    private WarningAndErrorScreen.StringEntryListWidget listWidget;
+    
+    public BadItemsScreen(Screen parent) {
+        super(NarratorManager.EMPTY);
+        this.parent = parent;
+    }
+    
+    @Override
+    public void init() {
+        children.add(listWidget = new WarningAndErrorScreen.StringEntryListWidget(client, width, height, 32, height - 32));
+        listWidget.max = 80;
+        listWidget.creditsClearEntries();
+        listWidget.creditsAddEntry(new WarningAndErrorScreen.EmptyItem());
+        List<BadItemRegistry.Record> records = BadItemRegistry.getRecords();
+        if (records.isEmpty())
+            listWidget.creditsAddEntry(new WarningAndErrorScreen.TextItem(new LiteralText("No item has thrown or been slow.").formatted(Formatting.GRAY)));
+        for (BadItemRegistry.Record record : records) {
+            String time = String.format("%d slow calls taking %.2fms, at most %.2fms", record.getSlowCalls(), record.getSlowNanos() / 1000000.0, record.getMaxNanos() / 1000000.0);
+            listWidget.creditsAddEntry(new WarningAndErrorScreen.TextItem(new LiteralText(Registry.ITEM.getId(record.getItem()).toString()).formatted(record.isBlacklisted() ? Formatting.RED : Formatting.GOLD)
+                    .append(new LiteralText(" (" + String.join(", ", record.getProviders()) + ")").formatted(Formatting.GRAY))));
+            listWidget.creditsAddEntry(new WarningAndErrorScreen.TextItem(new LiteralText("  " + record.getFailures() + " failures, " + time).formatted(Formatting.GRAY)));
+            if (record.getLastError() != null)
+                listWidget.creditsAddEntry(new WarningAndErrorScreen.TextItem(new LiteralText("  " + record.getLastError()).formatted(Formatting.DARK_RED)));
+        }
+        for (WarningAndErrorScreen.StringItem child : listWidget.children()) {
+            listWidget.max = Math.max(listWidget.max, child.getWidth());
+        }
+        children.add(buttonBack = new ButtonWidget(width / 2 - 75, height - 26, 150, 20, new LiteralText("Back"), button -> {
+            MinecraftClient.getInstance().openScreen(parent);
+        }));
+    }
+    
+    @Override
+    public void onClose() {
+        MinecraftClient.getInstance().openScreen(parent);
+    }
+    
+    @Override
+    public boolean mouseScrolled(double mouseX, double mouseY, double amount) {
+        return listWidget.mouseScrolled(mouseX, mouseY, amount) || super.mouseScrolled(mouseX, mouseY, amount);
+    }
+    
+    @Override
+    public void render(MatrixStack matrices, int mouseX, int mouseY, float delta) {
+        this.renderBackgroundTexture(0);
+        this.listWidget.render(matrices, mouseX, mouseY, delta);
+        this.drawCenteredString(matrices, this.textRenderer, "Items with failing or slow names and tooltips", this.width / 2, 16, 16777215);
+        super.render(matrices, mouseX, mouseY, delta);
+        this.buttonBack.render(matrices, mouseX, mouseY, delta);
+    }
+}
@@ -40,6 +40,7 @@ import me.shedaniel.rei.gui.modules.entries.WeatherMenuEntry;
 import me.shedaniel.rei.gui.widget.*;
 import me.shedaniel.rei.impl.ClientHelperImpl;
 import me.shedaniel.rei.impl.InternalWidgets;
+import me.shedaniel.rei.impl.InventoryRevisionTracker;
 import me.shedaniel.rei.impl.ScreenHelper;
 import me.shedaniel.rei.impl.Weather;
 import me.shedaniel.rei.utils.CollectionUtils;
@@ -74,8 +75,6 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Arrays;
-import java.util.Comparator;
-import java.util.LinkedList;
 import java.util.List;
 
 @ApiStatus.Internal
@@ -85,6 +84,7 @@ public class ContainerScreenOverlay extends WidgetWithBounds {
     private static final List<Tooltip> TOOLTIPS = Lists.newArrayList();
     private static final List<Runnable> AFTER_RENDER = Lists.newArrayList();
     private static final EntryListWidget ENTRY_LIST_WIDGET = new EntryListWidget();
+    private static final InventoryRevisionTracker INVENTORY_TRACKER = new InventoryRevisionTracker();
     private static FavoritesListWidget favoritesListWidget = null;
     private final List<Widget> widgets = Lists.newLinkedList();
     public boolean shouldReInit = false;
@@ -473,7 +473,6 @@ public class ContainerScreenOverlay extends WidgetWithBounds {
     
     @Override
     public void render(MatrixStack matrices, int mouseX, int mouseY, float delta) {
-        List<ItemStack> currentStacks = ClientHelper.getInstance().getInventoryItemsTypes();
         if (shouldReInit) {
             ENTRY_LIST_WIDGET.updateSearch(ScreenHelper.getSearchField().getText(), true);
             init();
@@ -485,8 +484,8 @@ public class ContainerScreenOverlay extends WidgetWithBounds {
                 }
             }
         }
-        if (ConfigManager.getInstance().isCraftableOnlyEnabled() && ((currentStacks.size() != ScreenHelper.inventoryStacks.size()) || !hasSameListContent(new LinkedList<>(ScreenHelper.inventoryStacks), currentStacks))) {
-            ScreenHelper.inventoryStacks = currentStacks;
+        if (ConfigManager.getInstance().isCraftableOnlyEnabled() && INVENTORY_TRACKER.update(minecraft.player.inventory)) {
+            ScreenHelper.inventoryStacks = ClientHelper.getInstance().getInventoryItemsTypes();
             ENTRY_LIST_WIDGET.updateSearch(ScreenHelper.getSearchField().getText(), true);
         }
         if (OverlaySearchField.isSearching) {
@@ -564,12 +563,6 @@ public class ContainerScreenOverlay extends WidgetWithBounds {
         ScreenHelper.drawHoveringWidget(matrices, mouseX, mouseY, renderTooltipCallback, tooltipWidth, tooltipHeight, 0);
     }
     
-    private boolean hasSameListContent(List<ItemStack> list1, List<ItemStack> list2) {
-        list1.sort(Comparator.comparing(Object::toString));
-        list2.sort(Comparator.comparing(Object::toString));
-        return CollectionUtils.mapAndJoinToString(list1, Object::toString, "").equals(CollectionUtils.mapAndJoinToString(list2, Object::toString, ""));
-    }
-    
     public void addTooltip(@Nullable Tooltip tooltip) {
         if (tooltip != null)
             TOOLTIPS.add(tooltip);
@@ -0,0 +1,142 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.shedaniel.rei.gui;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import me.shedaniel.rei.RoughlyEnoughItemsCore;
+import me.shedaniel.rei.api.ReloadProfile;
+import net.fabricmc.loader.api.FabricLoader;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.gui.screen.Screen;
+import net.minecraft.client.gui.widget.AbstractButtonWidget;
+import net.minecraft.client.gui.widget.ButtonWidget;
+import net.minecraft.client.util.NarratorManager;
+import net.minecraft.client.util.math.MatrixStack;
+import net.minecraft.text.LiteralText;
+import net.minecraft.util.Formatting;
+import net.minecraft.util.Identifier;
+import org.jetbrains.annotations.ApiStatus;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+@ApiStatus.Internal
+public class ReloadProfileScreen extends Screen {
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+    private final Screen parent;
+    private final ReloadProfile profile;
+    private AbstractButtonWidget buttonExport;
+    private AbstractButtonWidget buttonBack;
+    private WarningAndErrorScreen.StringEntryListWidget listWidget;
+    
+    public ReloadProfileScreen(Screen parent, ReloadProfile profile) {
+        super(NarratorManager.EMPTY);
+        this.parent = parent;
+        this.profile = profile;
+    }
+    
+    @Override
+    public void init() {
+        children.add(listWidget = new WarningAndErrorScreen.StringEntryListWidget(client, width, height, 32, height - 32));
+        listWidget.max = 80;
+        listWidget.creditsClearEntries();
+        listWidget.creditsAddEntry(new WarningAndErrorScreen.EmptyItem());
+        listWidget.creditsAddEntry(new WarningAndErrorScreen.TextItem(new LiteralText(String.format("Total: %.2fms", profile.getTotalTimeNanos() / 1000000.0))));
+        listWidget.creditsAddEntry(new WarningAndErrorScreen.EmptyItem());
+        Map<Identifier, long[]> plugins = Maps.newLinkedHashMap();
+        for (ReloadProfile.Section section : profile.getSections()) {
+            if (section.getPlugin() != null) {
+                long[] total = plugins.computeIfAbsent(section.getPlugin(), plugin -> new long[4]);
+                total[0] += section.getTimeNanos();
+                total[1] = total[1] < 0 || section.getAllocatedBytes() < 0 ? -1 : total[1] + section.getAllocatedBytes();
+                total[2] += section.getDisplaysAdded();
+                total[3] += section.getEntriesAdded();
+            }
+        }
+        listWidget.creditsAddEntry(new WarningAndErrorScreen.TextItem(new LiteralText("Plugins:").formatted(Formatting.GOLD)));
+        List<Map.Entry<Identifier, long[]>> pluginEntries = Lists.newArrayList(plugins.entrySet());
+        pluginEntries.sort(Comparator.comparingLong((Map.Entry<Identifier, long[]> entry) -> entry.getValue()[0]).reversed());
+        for (Map.Entry<Identifier, long[]> entry : pluginEntries) {
+            long[] total = entry.getValue();
+            addLine(entry.getKey().toString(), total[0], total[1], (int) total[2], (int) total[3]);
+        }
+        listWidget.creditsAddEntry(new WarningAndErrorScreen.EmptyItem());
+        listWidget.creditsAddEntry(new WarningAndErrorScreen.TextItem(new LiteralText("Sections:").formatted(Formatting.GOLD)));
+        List<ReloadProfile.Section> sections = Lists.newArrayList(profile.getSections());
+        sections.sort(Comparator.comparingLong(ReloadProfile.Section::getTimeNanos).reversed());
+        for (ReloadProfile.Section section : sections) {
+            addLine(section.getPlugin() == null ? section.getPhase() : section.getPhase() + " for " + section.getPlugin(), section.getTimeNanos(), section.getAllocatedBytes(), section.getDisplaysAdded(), section.getEntriesAdded());
+        }
+        for (WarningAndErrorScreen.StringItem child : listWidget.children()) {
+            listWidget.max = Math.max(listWidget.max, child.getWidth());
+        }
+        children.add(buttonExport = new ButtonWidget(width / 2 - 154, height - 26, 150, 20, new LiteralText("Export as JSON"), button -> {
+            File file = new File(FabricLoader.getInstance().getConfigDirectory(), "roughlyenoughitems/reload_profile.json");
+            file.getParentFile().mkdirs();
+            try (Writer writer = new FileWriter(file)) {
+                GSON.toJson(profile.toJson(), writer);
+                button.setMessage(new LiteralText("Exported to reload_profile.json"));
+            } catch (IOException e) {
+                RoughlyEnoughItemsCore.LOGGER.error("Failed to export reload profile!", e);
+                button.setMessage(new LiteralText("Failed to export").formatted(Formatting.RED));
+            }
+        }));
+        children.add(buttonBack = new ButtonWidget(width / 2 + 4, height - 26, 150, 20, new LiteralText("Back"), button -> {
+            MinecraftClient.getInstance().openScreen(parent);
+        }));
+    }
+    
+    private void addLine(String name, long time, long allocated, int displays, int entries) {
+        String allocatedText = allocated < 0 ? "?" : String.format("%.1fMB", allocated / 1048576.0);
+        listWidget.creditsAddEntry(new WarningAndErrorScreen.TextItem(new LiteralText(String.format("%.2fms, %s allocated, +%d displays, +%d entries: ", time / 1000000.0, allocatedText, displays, entries)).formatted(Formatting.GRAY).append(new LiteralText(name).formatted(Formatting.WHITE))));
+    }
+    
+    @Override
+    public void onClose() {
+        MinecraftClient.getInstance().openScreen(parent);
+    }
+    
+    @Override
+    public boolean mouseScrolled(double mouseX, double mouseY, double amount) {
+        return listWidget.mouseScrolled(mouseX, mouseY, amount) || super.mouseScrolled(mouseX, mouseY, amount);
+    }
+    
+    @Override
+    public void render(MatrixStack matrices, int mouseX, int mouseY, float delta) {
+        this.renderBackgroundTexture(0);
+        this.listWidget.render(matrices, mouseX, mouseY, delta);
+        this.drawCenteredString(matrices, this.textRenderer, "Roughly Enough Items' last reload", this.width / 2, 16, 16777215);
+        super.render(matrices, mouseX, mouseY, delta);
+        this.buttonExport.render(matrices, mouseX, mouseY, delta);
+        this.buttonBack.render(matrices, mouseX, mouseY, delta);
+    }
+}
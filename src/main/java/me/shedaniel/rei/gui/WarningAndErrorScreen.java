@@ -145,9 +145,9 @@ public class WarningAndErrorScreen extends Screen {
         this.buttonExit.render(matrices, int_1, int_2, float_1);
     }
     
-    private static class StringEntryListWidget extends DynamicNewSmoothScrollingEntryListWidget<StringItem> {
+    static class StringEntryListWidget extends DynamicNewSmoothScrollingEntryListWidget<StringItem> {
         private boolean inFocus;
-        private int max = 80;
+        int max = 80;
         
         public StringEntryListWidget(MinecraftClient client, int width, int height, int startY, int endY) {
             super(client, width, height, startY, endY, DrawableHelper.BACKGROUND_TEXTURE);
@@ -192,11 +192,11 @@ public class WarningAndErrorScreen extends Screen {
         }
     }
     
-    private abstract static class StringItem extends DynamicNewSmoothScrollingEntryListWidget.Entry<StringItem> {
+    abstract static class StringItem extends DynamicNewSmoothScrollingEntryListWidget.Entry<StringItem> {
         public abstract int getWidth();
     }
     
-    private static class EmptyItem extends StringItem {
+    static class EmptyItem extends StringItem {
         @Override
         public void render(MatrixStack matrixStack, int i, int i1, int i2, int i3, int i4, int i5, int i6, boolean b, float v) {
             
@@ -213,7 +213,7 @@ public class WarningAndErrorScreen extends Screen {
         }
     }
     
-    private static class TextItem extends StringItem {
+    static class TextItem extends StringItem {
         private StringRenderable text;
         
         public TextItem(StringRenderable text) {
@@ -27,7 +27,6 @@ import me.shedaniel.math.Point;
 import me.shedaniel.math.Rectangle;
 import me.shedaniel.rei.RoughlyEnoughItemsCore;
 import me.shedaniel.rei.api.*;
-import me.shedaniel.rei.gui.ContainerScreenOverlay;
 import me.shedaniel.rei.gui.modules.Menu;
 import me.shedaniel.rei.gui.modules.MenuEntry;
 import me.shedaniel.rei.impl.EntryRegistryImpl;
@@ -102,9 +101,7 @@ public class EntryStackSubsetsMenuEntry extends MenuEntry {
                     if (subsetsMenu != null)
                         recalculateFilter(subsetsMenu);
                     ConfigManager.getInstance().saveConfig();
-                    ((EntryRegistryImpl) EntryRegistry.getInstance()).refilter();
-                    if (ScreenHelper.getSearchField() != null)
-                        ContainerScreenOverlay.getEntryListWidget().updateSearch(ScreenHelper.getSearchField().getText(), true);
+                    ((EntryRegistryImpl) EntryRegistry.getInstance()).refilterAsync();
                 }
             } else if (!RoughlyEnoughItemsCore.isLeftModePressed) clickedLast = false;
         } else clickedLast = false;
@@ -29,7 +29,6 @@ import me.shedaniel.math.Point;
 import me.shedaniel.math.Rectangle;
 import me.shedaniel.rei.api.*;
 import me.shedaniel.rei.api.widgets.Tooltip;
-import me.shedaniel.rei.gui.ContainerScreenOverlay;
 import me.shedaniel.rei.gui.modules.Menu;
 import me.shedaniel.rei.gui.modules.MenuEntry;
 import me.shedaniel.rei.gui.widget.TabWidget;
@@ -152,9 +151,7 @@ public class SubSubsetsMenuEntry extends MenuEntry {
                 Menu subsetsMenu = ScreenHelper.getLastOverlay().getSubsetsMenu();
                 setFiltered(filteredStacks, subsetsMenu, this, !(getFilteredRatio() > 0));
                 ConfigManager.getInstance().saveConfig();
-                ((EntryRegistryImpl) EntryRegistry.getInstance()).refilter();
-                if (ScreenHelper.getSearchField() != null)
-                    ContainerScreenOverlay.getEntryListWidget().updateSearch(ScreenHelper.getSearchField().getText(), true);
+                ((EntryRegistryImpl) EntryRegistry.getInstance()).refilterAsync();
             } else {
                 clickedBefore = true;
             }
@@ -23,6 +23,7 @@
 
 package me.shedaniel.rei.gui.widget;
 
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 import me.shedaniel.clothconfig2.ClothConfigInitializer;
 import me.shedaniel.clothconfig2.api.ScissorsHandler;
@@ -36,9 +37,11 @@ import me.shedaniel.rei.api.*;
 import me.shedaniel.rei.api.widgets.Tooltip;
 import me.shedaniel.rei.gui.ContainerScreenOverlay;
 import me.shedaniel.rei.gui.config.EntryPanelOrdering;
+import me.shedaniel.rei.impl.ItemEntryStackView;
+import me.shedaniel.rei.impl.RecipeHelperImpl;
 import me.shedaniel.rei.impl.ScreenHelper;
 import me.shedaniel.rei.impl.SearchArgument;
-import me.shedaniel.rei.utils.CollectionUtils;
+import me.shedaniel.rei.impl.search.SearchScheduler;
 import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.network.ClientPlayerEntity;
 import net.minecraft.client.render.Tessellator;
@@ -56,11 +59,14 @@ import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayDeque;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.Deque;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.*;
+import java.util.Set;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -68,6 +74,7 @@ import java.util.stream.Collectors;
 public class EntryListWidget extends WidgetWithBounds {
     
     static final Supplier<Boolean> RENDER_ENCHANTMENT_GLINT = ConfigObject.getInstance()::doesRenderEntryEnchantmentGlint;
+    static final Map<EntryStack.Settings<?>, Object> DISPLAY_SETTINGS = ImmutableMap.of(EntryStack.Settings.RENDER_COUNTS, EntryStack.Settings.FALSE, EntryStack.Settings.Item.RENDER_ENCHANTMENT_GLINT, RENDER_ENCHANTMENT_GLINT);
     static final Comparator<? super EntryStack> ENTRY_NAME_COMPARER = Comparator.comparing(stack -> stack.asFormatStrippedText().getString());
     static final Comparator<? super EntryStack> ENTRY_GROUP_COMPARER = Comparator.comparingInt(stack -> {
         if (stack.getType() == EntryStack.Type.ITEM) {
@@ -79,6 +86,7 @@ public class EntryListWidget extends WidgetWithBounds {
     });
     private static final int SIZE = 18;
     private static final boolean LAZY = true;
+    private static final int SEARCH_CACHE_SIZE = 8;
     private static int page;
     protected final ScrollingContainer scrolling = new ScrollingContainer() {
         @Override
@@ -96,10 +104,13 @@ public class EntryListWidget extends WidgetWithBounds {
     private Rectangle bounds, innerBounds;
     private List<EntryStack> allStacks = null;
     private List<EntryListEntry> entries = Collections.emptyList();
+    private ExclusionZoneMask exclusionZoneMask;
     private List<Widget> renders = Collections.emptyList();
     private List<Widget> widgets = Collections.emptyList();
     private List<SearchArgument.SearchArguments> lastSearchArguments = Collections.emptyList();
     private String lastSearchTerm = null;
+    private final Deque<CachedSearch> searchCache = new ArrayDeque<>();
+    private final SearchScheduler<CachedSearch> searchScheduler = new SearchScheduler<>();
     
     public static int entrySize() {
         return MathHelper.ceil(SIZE * ConfigObject.getInstance().getEntrySize());
@@ -171,40 +182,21 @@ public class EntryListWidget extends WidgetWithBounds {
     
     @Override
     public void render(MatrixStack matrices, int mouseX, int mouseY, float delta) {
+        applyCompletedSearch();
         if (ConfigObject.getInstance().isEntryListWidgetScrolled()) {
-            for (EntryListEntry entry : entries)
-                entry.clearStacks();
             ScissorsHandler.INSTANCE.scissor(bounds);
-            int skip = Math.max(0, MathHelper.floor(scrolling.scrollAmount / (float) entrySize()));
-            int nextIndex = skip * innerBounds.width / entrySize();
-            int i = nextIndex;
-            blockedCount = 0;
+            int visibleEntries = layoutScrolledEntries();
             if (debugTime) {
                 long totalTimeStart = System.nanoTime();
                 int size = 0;
                 long time = 0;
-                back:
-                for (; i < allStacks.size(); i++) {
-                    EntryStack stack = allStacks.get(i);
-                    while (true) {
-                        EntryListEntry entry = entries.get(nextIndex);
-                        entry.getBounds().y = (int) (entry.backupY - scrolling.scrollAmount);
-                        if (entry.getBounds().y > bounds.getMaxY())
-                            break back;
-                        if (notSteppingOnExclusionZones(entry.getBounds().x, entry.getBounds().y, innerBounds)) {
-                            entry.entry(stack);
-                            if (!entry.getCurrentEntry().isEmpty()) {
-                                size++;
-                                long l = System.nanoTime();
-                                entry.render(matrices, mouseX, mouseY, delta);
-                                time += (System.nanoTime() - l);
-                            }
-                            nextIndex++;
-                            break;
-                        } else {
-                            blockedCount++;
-                            nextIndex++;
-                        }
+                for (int i = 0; i < visibleEntries; i++) {
+                    EntryListEntry entry = entries.get(i);
+                    if (!entry.getCurrentEntry().isEmpty()) {
+                        size++;
+                        long l = System.nanoTime();
+                        entry.render(matrices, mouseX, mouseY, delta);
+                        time += (System.nanoTime() - l);
                     }
                 }
                 long totalTime = System.nanoTime() - totalTimeStart;
@@ -221,24 +213,8 @@ public class EntryListWidget extends WidgetWithBounds {
                 setZ(z);
                 matrices.pop();
             } else {
-                back:
-                for (; i < allStacks.size(); i++) {
-                    EntryStack stack = allStacks.get(i);
-                    while (true) {
-                        EntryListEntry entry = entries.get(nextIndex);
-                        entry.getBounds().y = (int) (entry.backupY - scrolling.scrollAmount);
-                        if (entry.getBounds().y > bounds.getMaxY())
-                            break back;
-                        if (notSteppingOnExclusionZones(entry.getBounds().x, entry.getBounds().y, innerBounds)) {
-                            entry.entry(stack);
-                            entry.render(matrices, mouseX, mouseY, delta);
-                            nextIndex++;
-                            break;
-                        } else {
-                            blockedCount++;
-                            nextIndex++;
-                        }
-                    }
+                for (int i = 0; i < visibleEntries; i++) {
+                    entries.get(i).render(matrices, mouseX, mouseY, delta);
                 }
             }
             updatePosition(delta);
@@ -381,6 +357,49 @@ public class EntryListWidget extends WidgetWithBounds {
         }
     }
     
+    /**
+     * Assigns the stacks visible at the current scroll amount to the recycled cells, the slot of a cell is computed from
+     * the scroll amount so only the visible rows have cells.
+     *
+     * @return the amount of cells in use, the cells after it are cleared
+     */
+    private int layoutScrolledEntries() {
+        int width = innerBounds.width / entrySize();
+        int skip = Math.max(0, MathHelper.floor(scrolling.scrollAmount / (float) entrySize()));
+        int slot = skip * width;
+        int used = 0;
+        blockedCount = 0;
+        back:
+        for (int i = slot; i < allStacks.size(); i++) {
+            EntryStack stack = allStacks.get(i);
+            while (true) {
+                int column = slot % width;
+                int x = innerBounds.x + column * entrySize();
+                int y = (int) (innerBounds.y + (slot / width) * entrySize() - scrolling.scrollAmount);
+                if (y > bounds.getMaxY())
+                    break back;
+                slot++;
+                if (!exclusionZoneMask.isBlocked(column, y)) {
+                    if (used >= entries.size()) {
+                        EntryListEntry entry = (EntryListEntry) new EntryListEntry(x, y).noBackground();
+                        entries.add(entry);
+                        widgets.add(entry);
+                    }
+                    EntryListEntry entry = entries.get(used++);
+                    entry.getBounds().setLocation(x, y);
+                    entry.clearStacks().entry(stack);
+                    break;
+                } else {
+                    blockedCount++;
+                }
+            }
+        }
+        for (int i = used; i < entries.size(); i++) {
+            entries.get(i).clearStacks();
+        }
+        return used;
+    }
+    
     private int getScrollbarMinX() {
         if (ConfigObject.getInstance().isLeftHandSidePanel())
             return bounds.x + 1;
@@ -435,9 +454,10 @@ public class EntryListWidget extends WidgetWithBounds {
             List<EntryListEntry> entries = Lists.newArrayList();
             int width = innerBounds.width / entrySize();
             int height = innerBounds.height / entrySize();
+            this.exclusionZoneMask = new ExclusionZoneMask(innerBounds, innerBounds.y, innerBounds.getMaxY());
             for (int currentY = 0; currentY < height; currentY++) {
                 for (int currentX = 0; currentX < width; currentX++) {
-                    if (notSteppingOnExclusionZones(currentX * entrySize() + innerBounds.x, currentY * entrySize() + innerBounds.y, innerBounds)) {
+                    if (!exclusionZoneMask.isBlocked(currentX, currentY * entrySize() + innerBounds.y)) {
                         entries.add((EntryListEntry) new EntryListEntry(currentX * entrySize() + innerBounds.x, currentY * entrySize() + innerBounds.y).noBackground());
                     }
                 }
@@ -455,19 +475,12 @@ public class EntryListWidget extends WidgetWithBounds {
             page = 0;
             int width = innerBounds.width / entrySize();
             int pageHeight = innerBounds.height / entrySize();
-            int slotsToPrepare = Math.max(allStacks.size() * 3, width * pageHeight * 3);
-            int currentX = 0;
-            int currentY = 0;
-            List<EntryListEntry> entries = Lists.newArrayList();
-            for (int i = 0; i < slotsToPrepare; i++) {
-                int xPos = currentX * entrySize() + innerBounds.x;
-                int yPos = currentY * entrySize() + innerBounds.y;
-                entries.add((EntryListEntry) new EntryListEntry(xPos, yPos).noBackground());
-                currentX++;
-                if (currentX >= width) {
-                    currentX = 0;
-                    currentY++;
-                }
+            // Two more rows than a page for the partially visible rows at the top and the bottom
+            int cells = width * (pageHeight + 2);
+            this.exclusionZoneMask = new ExclusionZoneMask(innerBounds, innerBounds.y - entrySize(), bounds.getMaxY());
+            List<EntryListEntry> entries = Lists.newArrayListWithCapacity(cells);
+            for (int i = 0; i < cells; i++) {
+                entries.add((EntryListEntry) new EntryListEntry(innerBounds.x, innerBounds.y).noBackground());
             }
             this.entries = entries;
             this.widgets = Lists.newArrayList(renders);
@@ -489,70 +502,106 @@ public class EntryListWidget extends WidgetWithBounds {
     
     public void updateSearch(String searchTerm, boolean ignoreLastSearch) {
         long started = System.nanoTime();
+        debugTime = ConfigObject.getInstance().doDebugRenderTimeRequired();
         if (ignoreLastSearch || this.lastSearchTerm == null || !this.lastSearchTerm.equals(searchTerm)) {
+            if (ignoreLastSearch)
+                searchCache.clear();
+            List<SearchArgument.SearchArguments> arguments = SearchArgument.processSearchTerm(searchTerm);
             this.lastSearchTerm = searchTerm;
-            this.lastSearchArguments = SearchArgument.processSearchTerm(searchTerm);
-            List<EntryStack> list = Lists.newArrayList();
-            boolean checkCraftable = ConfigManager.getInstance().isCraftableOnlyEnabled() && !ScreenHelper.inventoryStacks.isEmpty();
-            List<EntryStack> workingItems = checkCraftable ? RecipeHelper.getInstance().findCraftableEntriesByItems(CollectionUtils.map(ScreenHelper.inventoryStacks, EntryStack::create)) : null;
-            List<EntryStack> stacks = EntryRegistry.getInstance().getPreFilteredList();
-            if (stacks instanceof CopyOnWriteArrayList && !stacks.isEmpty()) {
-                if (ConfigObject.getInstance().shouldAsyncSearch()) {
-                    int size = ConfigObject.getInstance().getNumberAsyncSearch();
-                    List<CompletableFuture<List<EntryStack>>> completableFutures = Lists.newArrayList();
-                    for (int i = 0; i < stacks.size(); i += size) {
-                        int[] start = {i};
-                        completableFutures.add(CompletableFuture.supplyAsync(() -> {
-                            int end = Math.min(stacks.size(), start[0] + size);
-                            List<EntryStack> filtered = Lists.newArrayList();
-                            for (; start[0] < end; start[0]++) {
-                                EntryStack stack = stacks.get(start[0]);
-                                if (canLastSearchTermsBeAppliedTo(stack)) {
-                                    if (workingItems != null && CollectionUtils.findFirstOrNullEqualsEntryIgnoreAmount(workingItems, stack) == null)
-                                        continue;
-                                    filtered.add(stack.copy().setting(EntryStack.Settings.RENDER_COUNTS, EntryStack.Settings.FALSE).setting(EntryStack.Settings.Item.RENDER_ENCHANTMENT_GLINT, RENDER_ENCHANTMENT_GLINT));
-                                }
-                            }
-                            return filtered;
-                        }));
-                    }
-                    try {
-                        CompletableFuture.allOf(completableFutures.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
-                    } catch (InterruptedException | ExecutionException | TimeoutException e) {
-                        e.printStackTrace();
-                    }
-                    for (CompletableFuture<List<EntryStack>> future : completableFutures) {
-                        List<EntryStack> now = future.getNow(null);
-                        if (now != null)
-                            list.addAll(now);
-                    }
-                } else {
-                    for (EntryStack stack : stacks) {
-                        if (canLastSearchTermsBeAppliedTo(stack)) {
-                            if (workingItems != null && CollectionUtils.findFirstOrNullEqualsEntryIgnoreAmount(workingItems, stack) == null)
-                                continue;
-                            list.add(stack.copy().setting(EntryStack.Settings.RENDER_COUNTS, EntryStack.Settings.FALSE).setting(EntryStack.Settings.Item.RENDER_ENCHANTMENT_GLINT, RENDER_ENCHANTMENT_GLINT));
-                        }
-                    }
+            this.lastSearchArguments = arguments;
+            CachedSearch exact = null;
+            CachedSearch refined = null;
+            for (CachedSearch cached : searchCache) {
+                if (cached.searchTerm.equals(searchTerm)) {
+                    exact = cached;
+                    break;
                 }
+                if (refined == null && SearchArgument.isRefinementOf(arguments, cached.arguments))
+                    refined = cached;
+            }
+            if (exact != null) {
+                searchScheduler.cancel();
+                searchCache.remove(exact);
+                applySearch(exact);
+                logSearchTime(started);
+                return;
+            }
+            List<EntryStack> stacks;
+            Set<EntryStack> workingItems = null;
+            if (refined != null) {
+                // The previous result is already filtered for craftables and sorted, narrowing it keeps both
+                stacks = refined.stacks;
+            } else {
+                boolean checkCraftable = ConfigManager.getInstance().isCraftableOnlyEnabled() && !ScreenHelper.inventoryStacks.isEmpty();
+                workingItems = checkCraftable ? ((RecipeHelperImpl) RecipeHelper.getInstance()).findCraftableEntriesByInventory(ScreenHelper.inventoryStacks) : null;
+                stacks = EntryRegistry.getInstance().getPreFilteredList();
+            }
+            Set<EntryStack> finalWorkingItems = workingItems;
+            Predicate<EntryStack> predicate = stack -> SearchArgument.canSearchTermsBeAppliedTo(stack, arguments) && (finalWorkingItems == null || finalWorkingItems.contains(stack));
+            boolean sort = refined == null;
+            if (ConfigObject.getInstance().shouldAsyncSearch() && allStacks != null) {
+                // Keep showing the current stacks until the newest search lands, see applyCompletedSearch
+                searchScheduler.submit(stacks, ConfigObject.getInstance().getNumberAsyncSearch(), predicate, matched -> {
+                    if (sort)
+                        sortStacks(matched);
+                    logSearchTime(started);
+                    return new CachedSearch(searchTerm, arguments, matched);
+                });
+                return;
             }
-            EntryPanelOrdering ordering = ConfigObject.getInstance().getItemListOrdering();
-            if (ordering == EntryPanelOrdering.NAME)
-                list.sort(ENTRY_NAME_COMPARER);
-            if (ordering == EntryPanelOrdering.GROUPS)
-                list.sort(ENTRY_GROUP_COMPARER);
-            if (!ConfigObject.getInstance().isItemListAscending())
-                Collections.reverse(list);
-            allStacks = list;
+            searchScheduler.cancel();
+            List<EntryStack> matched = Lists.newArrayList();
+            for (EntryStack stack : stacks) {
+                if (predicate.test(stack))
+                    matched.add(stack);
+            }
+            if (sort)
+                sortStacks(matched);
+            applySearch(new CachedSearch(searchTerm, arguments, matched));
+            logSearchTime(started);
+            return;
         }
-        debugTime = ConfigObject.getInstance().doDebugRenderTimeRequired();
         FavoritesListWidget favoritesListWidget = ContainerScreenOverlay.getFavoritesListWidget();
         if (favoritesListWidget != null)
             favoritesListWidget.updateSearch(this, searchTerm);
-        long ended = System.nanoTime();
-        long time = ended - started;
+        logSearchTime(started);
+        updateEntriesPosition();
+    }
+    
+    private static void sortStacks(List<EntryStack> stacks) {
+        EntryPanelOrdering ordering = ConfigObject.getInstance().getItemListOrdering();
+        if (ordering == EntryPanelOrdering.NAME)
+            stacks.sort(ENTRY_NAME_COMPARER);
+        if (ordering == EntryPanelOrdering.GROUPS)
+            stacks.sort(ENTRY_GROUP_COMPARER);
+        if (!ConfigObject.getInstance().isItemListAscending())
+            Collections.reverse(stacks);
+    }
+    
+    private static void logSearchTime(long started) {
+        long time = System.nanoTime() - started;
         if (ConfigObject.getInstance().doDebugSearchTimeRequired())
             RoughlyEnoughItemsCore.LOGGER.info("Search Used: %.2fms", time * 1e-6);
+    }
+    
+    private void applyCompletedSearch() {
+        CachedSearch search = searchScheduler.poll();
+        if (search != null)
+            applySearch(search);
+    }
+    
+    private void applySearch(CachedSearch search) {
+        searchCache.addFirst(search);
+        while (searchCache.size() > SEARCH_CACHE_SIZE)
+            searchCache.removeLast();
+        List<EntryStack> list = Lists.newArrayListWithCapacity(search.stacks.size());
+        for (EntryStack stack : search.stacks) {
+            list.add(ItemEntryStackView.of(stack, DISPLAY_SETTINGS));
+        }
+        allStacks = list;
+        FavoritesListWidget favoritesListWidget = ContainerScreenOverlay.getFavoritesListWidget();
+        if (favoritesListWidget != null)
+            favoritesListWidget.updateSearch(this, search.searchTerm);
         updateEntriesPosition();
     }
     
@@ -594,6 +643,18 @@ public class EntryListWidget extends WidgetWithBounds {
         return false;
     }
     
+    private static class CachedSearch {
+        private final String searchTerm;
+        private final List<SearchArgument.SearchArguments> arguments;
+        private final List<EntryStack> stacks;
+        
+        private CachedSearch(String searchTerm, List<SearchArgument.SearchArguments> arguments, List<EntryStack> stacks) {
+            this.searchTerm = searchTerm;
+            this.arguments = arguments;
+            this.stacks = stacks;
+        }
+    }
+    
     private class EntryListEntry extends EntryListEntryWidget {
         private EntryListEntry(int x, int y) {
             super(new Point(x, y));
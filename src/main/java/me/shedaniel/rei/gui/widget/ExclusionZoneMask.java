@@ -0,0 +1,73 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.shedaniel.rei.gui.widget;
+
+import me.shedaniel.math.Rectangle;
+import org.jetbrains.annotations.ApiStatus;
+
+import java.util.BitSet;
+
+import static me.shedaniel.rei.gui.widget.EntryListWidget.entrySize;
+import static me.shedaniel.rei.gui.widget.EntryListWidget.notSteppingOnExclusionZones;
+
+/**
+ * Mask of the grid cells blocked by exclusion zones, for every column and every vertical position a cell can be rendered at.
+ * <p>
+ * Cells are checked against the overlay deciders the first time they are looked up, the mask is meant to be recreated
+ * whenever the layout changes, which is when {@link me.shedaniel.rei.api.OverlayDecider#shouldRecalculateArea} asks for it.
+ */
+@ApiStatus.Internal
+public class ExclusionZoneMask {
+    private final Rectangle innerBounds;
+    private final int columns;
+    private final int minY;
+    private final int rows;
+    private final BitSet computed = new BitSet();
+    private final BitSet blocked = new BitSet();
+    
+    /**
+     * @param innerBounds the bounds of the grid
+     * @param minY        the smallest y position a cell is rendered at
+     * @param maxY        the largest y position a cell is rendered at
+     */
+    public ExclusionZoneMask(Rectangle innerBounds, int minY, int maxY) {
+        this.innerBounds = innerBounds;
+        this.columns = Math.max(innerBounds.width / entrySize(), 1);
+        this.minY = minY;
+        this.rows = Math.max(maxY - minY + 1, 0);
+    }
+    
+    public boolean isBlocked(int column, int y) {
+        int x = innerBounds.x + column * entrySize();
+        if (column < 0 || column >= columns || y < minY || y - minY >= rows)
+            return !notSteppingOnExclusionZones(x, y, innerBounds);
+        int index = column * rows + y - minY;
+        if (!computed.get(index)) {
+            computed.set(index);
+            if (!notSteppingOnExclusionZones(x, y, innerBounds))
+                blocked.set(index);
+        }
+        return blocked.get(index);
+    }
+}
@@ -35,8 +35,9 @@ import me.shedaniel.rei.RoughlyEnoughItemsCore;
 import me.shedaniel.rei.api.*;
 import me.shedaniel.rei.api.widgets.Tooltip;
 import me.shedaniel.rei.gui.config.EntryPanelOrdering;
+import me.shedaniel.rei.impl.ItemEntryStackView;
+import me.shedaniel.rei.impl.RecipeHelperImpl;
 import me.shedaniel.rei.impl.ScreenHelper;
-import me.shedaniel.rei.utils.CollectionUtils;
 import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.network.ClientPlayerEntity;
 import net.minecraft.client.util.math.MatrixStack;
@@ -49,6 +50,7 @@ import org.jetbrains.annotations.Nullable;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
 import static me.shedaniel.rei.gui.widget.EntryListWidget.*;
 
@@ -76,6 +78,7 @@ public class FavoritesListWidget extends WidgetWithBounds {
     List<EntryStack> favorites = null;
     private Rectangle bounds, innerBounds;
     private List<EntryListEntry> entries = Collections.emptyList();
+    private ExclusionZoneMask exclusionZoneMask;
     private boolean draggingScrollBar = false;
     
     private static Rectangle updateInnerBounds(Rectangle bounds) {
@@ -119,7 +122,7 @@ public class FavoritesListWidget extends WidgetWithBounds {
                 entry.getBounds().y = (int) (entry.backupY - scrolling.scrollAmount);
                 if (entry.getBounds().y > bounds.getMaxY())
                     break back;
-                if (notSteppingOnExclusionZones(entry.getBounds().x, entry.getBounds().y, innerBounds)) {
+                if (!exclusionZoneMask.isBlocked((entry.getBounds().x - innerBounds.x) / entrySize(), entry.getBounds().y)) {
                     entry.entry(stack);
                     entry.render(matrices, mouseX, mouseY, delta);
                     nextIndex++;
@@ -188,12 +191,12 @@ public class FavoritesListWidget extends WidgetWithBounds {
             if (ConfigObject.getInstance().doSearchFavorites()) {
                 List<EntryStack> list = Lists.newArrayList();
                 boolean checkCraftable = ConfigManager.getInstance().isCraftableOnlyEnabled() && !ScreenHelper.inventoryStacks.isEmpty();
-                List<EntryStack> workingItems = checkCraftable ? RecipeHelper.getInstance().findCraftableEntriesByItems(CollectionUtils.map(ScreenHelper.inventoryStacks, EntryStack::create)) : null;
+                Set<EntryStack> workingItems = checkCraftable ? ((RecipeHelperImpl) RecipeHelper.getInstance()).findCraftableEntriesByInventory(ScreenHelper.inventoryStacks) : null;
                 for (EntryStack stack : ConfigObject.getInstance().getFavorites()) {
                     if (listWidget.canLastSearchTermsBeAppliedTo(stack)) {
-                        if (checkCraftable && CollectionUtils.findFirstOrNullEqualsEntryIgnoreAmount(workingItems, stack) == null)
+                        if (checkCraftable && !workingItems.contains(stack))
                             continue;
-                        list.add(stack.copy().setting(EntryStack.Settings.RENDER_COUNTS, EntryStack.Settings.FALSE).setting(EntryStack.Settings.Item.RENDER_ENCHANTMENT_GLINT, RENDER_ENCHANTMENT_GLINT));
+                        list.add(ItemEntryStackView.of(stack, DISPLAY_SETTINGS));
                     }
                 }
                 EntryPanelOrdering ordering = ConfigObject.getInstance().getItemListOrdering();
@@ -207,11 +210,11 @@ public class FavoritesListWidget extends WidgetWithBounds {
             } else {
                 List<EntryStack> list = Lists.newArrayList();
                 boolean checkCraftable = ConfigManager.getInstance().isCraftableOnlyEnabled() && !ScreenHelper.inventoryStacks.isEmpty();
-                List<EntryStack> workingItems = checkCraftable ? RecipeHelper.getInstance().findCraftableEntriesByItems(CollectionUtils.map(ScreenHelper.inventoryStacks, EntryStack::create)) : null;
+                Set<EntryStack> workingItems = checkCraftable ? ((RecipeHelperImpl) RecipeHelper.getInstance()).findCraftableEntriesByInventory(ScreenHelper.inventoryStacks) : null;
                 for (EntryStack stack : ConfigObject.getInstance().getFavorites()) {
-                    if (checkCraftable && CollectionUtils.findFirstOrNullEqualsEntryIgnoreAmount(workingItems, stack) == null)
+                    if (checkCraftable && !workingItems.contains(stack))
                         continue;
-                    list.add(stack.copy().setting(EntryStack.Settings.RENDER_COUNTS, EntryStack.Settings.FALSE).setting(EntryStack.Settings.Item.RENDER_ENCHANTMENT_GLINT, RENDER_ENCHANTMENT_GLINT));
+                    list.add(ItemEntryStackView.of(stack, DISPLAY_SETTINGS));
                 }
                 EntryPanelOrdering ordering = ConfigObject.getInstance().getItemListOrdering();
                 if (ordering == EntryPanelOrdering.NAME)
@@ -231,6 +234,7 @@ public class FavoritesListWidget extends WidgetWithBounds {
         int width = innerBounds.width / entrySize();
         int pageHeight = innerBounds.height / entrySize();
         int slotsToPrepare = Math.max(favorites.size() * 3, width * pageHeight * 3);
+        this.exclusionZoneMask = new ExclusionZoneMask(innerBounds, innerBounds.y - entrySize(), bounds.getMaxY());
         int currentX = 0;
         int currentY = 0;
         List<EntryListEntry> entries = Lists.newArrayList();
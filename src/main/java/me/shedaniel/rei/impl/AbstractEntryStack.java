@@ -26,38 +26,47 @@ package me.shedaniel.rei.impl;
 import me.shedaniel.rei.api.EntryStack;
 import net.minecraft.client.gui.DrawableHelper;
 import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
 @ApiStatus.Internal
 public abstract class AbstractEntryStack extends DrawableHelper implements EntryStack {
-    private Map<Settings<?>, Object> settings = new HashMap<>();
+    @Nullable
+    private Map<Settings<?>, Object> settings;
     
     @Override
     public <T> EntryStack setting(Settings<T> settings, T value) {
+        if (this.settings == null)
+            this.settings = new HashMap<>();
         this.settings.put(settings, value);
         return this;
     }
     
     @Override
     public <T> EntryStack removeSetting(Settings<T> settings) {
-        this.settings.remove(settings);
+        if (this.settings != null)
+            this.settings.remove(settings);
         return this;
     }
     
     @Override
     public EntryStack clearSettings() {
-        this.settings.clear();
+        if (this.settings != null)
+            this.settings.clear();
         return this;
     }
     
     protected Map<Settings<?>, Object> getSettings() {
-        return settings;
+        return settings == null ? Collections.emptyMap() : settings;
     }
     
     @Override
     public <T> T get(Settings<T> settings) {
+        if (this.settings == null)
+            return settings.getDefaultValue();
         Object o = this.settings.get(settings);
         if (o == null)
             return settings.getDefaultValue();
@@ -0,0 +1,159 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.shedaniel.rei.impl;
+
+import com.google.common.collect.Lists;
+import me.shedaniel.rei.RoughlyEnoughItemsCore;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.minecraft.item.Item;
+import net.minecraft.util.Util;
+import net.minecraft.util.registry.Registry;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps track of the items whose name or tooltip providers have thrown or are slow.
+ * <p>
+ * Items that have thrown are blacklisted, and their names and tooltips fall back to their translation keys.
+ * The blacklist is a concurrent set, as names and tooltips are looked up from the search threads as well.
+ */
+@ApiStatus.Internal
+@Environment(EnvType.CLIENT)
+public final class BadItemRegistry {
+    private static final long SLOW_THRESHOLD_NANOS = 5000000;
+    private static final Set<Item> BLACKLISTED = Collections.newSetFromMap(new ConcurrentHashMap<>());
+    private static final Map<Item, Record> RECORDS = new ConcurrentHashMap<>();
+    
+    private BadItemRegistry() {
+    }
+    
+    public static boolean isBlacklisted(Item item) {
+        return BLACKLISTED.contains(item);
+    }
+    
+    /**
+     * Records the time a provider took, if it is slow.
+     *
+     * @param start the {@link Util#getMeasuringTimeNano()} at the start of the call
+     */
+    public static void reportCall(Item item, String provider, long start) {
+        long time = Util.getMeasuringTimeNano() - start;
+        if (time >= SLOW_THRESHOLD_NANOS) {
+            Record record = getRecord(item, provider);
+            record.slowCalls.increment();
+            record.slowNanos.add(time);
+            record.maxNanos.accumulateAndGet(time, Math::max);
+        }
+    }
+    
+    /**
+     * Records a provider that has thrown, and blacklists the item.
+     */
+    public static void reportFailure(Item item, String provider, Throwable throwable) {
+        Record record = getRecord(item, provider);
+        record.failures.increment();
+        record.lastError = throwable.toString();
+        if (BLACKLISTED.add(item))
+            RoughlyEnoughItemsCore.LOGGER.error("Failed to get the " + provider + " of " + Registry.ITEM.getId(item) + ", blacklisting it!", throwable);
+    }
+    
+    private static Record getRecord(Item item, String provider) {
+        return RECORDS.computeIfAbsent(item, i -> new Record(i)).withProvider(provider);
+    }
+    
+    /**
+     * @return the recorded items, the slowest first
+     */
+    public static List<Record> getRecords() {
+        List<Record> records = Lists.newArrayList(RECORDS.values());
+        records.sort((o1, o2) -> Long.compare(o2.getSlowNanos(), o1.getSlowNanos()));
+        return records;
+    }
+    
+    @ApiStatus.Internal
+    @Environment(EnvType.CLIENT)
+    public static final class Record {
+        private final Item item;
+        private final Set<String> providers = Collections.newSetFromMap(new ConcurrentHashMap<>());
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder slowCalls = new LongAdder();
+        private final LongAdder slowNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        @Nullable
+        private volatile String lastError;
+        
+        private Record(Item item) {
+            this.item = item;
+        }
+        
+        private Record withProvider(String provider) {
+            providers.add(provider);
+            return this;
+        }
+        
+        public Item getItem() {
+            return item;
+        }
+        
+        /**
+         * @return the providers that have thrown or been slow for this item, such as {@code "name"} or {@code "tooltip"}
+         */
+        public Set<String> getProviders() {
+            return Collections.unmodifiableSet(providers);
+        }
+        
+        public boolean isBlacklisted() {
+            return BadItemRegistry.isBlacklisted(item);
+        }
+        
+        public long getFailures() {
+            return failures.sum();
+        }
+        
+        public long getSlowCalls() {
+            return slowCalls.sum();
+        }
+        
+        public long getSlowNanos() {
+            return slowNanos.sum();
+        }
+        
+        public long getMaxNanos() {
+            return maxNanos.get();
+        }
+        
+        @Nullable
+        public String getLastError() {
+            return lastError;
+        }
+    }
+}
@@ -0,0 +1,244 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.shedaniel.rei.impl;
+
+import com.google.common.collect.Lists;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.ByteBufOutputStream;
+import io.netty.buffer.Unpooled;
+import me.shedaniel.rei.RoughlyEnoughItemsCore;
+import me.shedaniel.rei.api.EntryStack;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.NbtIo;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.Util;
+import net.minecraft.util.registry.Registry;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Binary sidecar of the config for large stack lists, the favorites and the filtered stacks are kept in the config
+ * while they are small, so they can still be edited by hand, and are moved to the sidecar once they reach
+ * {@link #LARGE_LIST_SIZE} entries.
+ * <p>
+ * Each stack is stored as length prefixed NBT, with the registry identifiers of its item or fluid, and is read
+ * from a memory mapped file when it is large, instead of parsing the SNBT in the JSON strings of the config.
+ */
+@ApiStatus.Internal
+@Environment(EnvType.CLIENT)
+public class BinaryStackStorage {
+    public static final int LARGE_LIST_SIZE = 256;
+    private static final int MAGIC = 0x52454953;
+    private static final int VERSION = 1;
+    private static final long MAP_THRESHOLD = 1 << 20;
+    private static final byte TYPE_ITEM = 0;
+    private static final byte TYPE_FLUID = 1;
+    private final File file;
+    
+    public BinaryStackStorage(File file) {
+        this.file = file;
+    }
+    
+    /**
+     * Encodes an item or fluid stack with the registry identifier of its item or fluid.
+     *
+     * @return the encoded stack, or {@code null} if the stack is neither an item nor a fluid
+     */
+    @Nullable
+    public static CompoundTag writeStack(EntryStack stack) {
+        CompoundTag tag = new CompoundTag();
+        switch (stack.getType()) {
+            case ITEM:
+                tag.putByte("Type", TYPE_ITEM);
+                stack.getItemStack().toTag(tag);
+                return tag;
+            case FLUID:
+                tag.putByte("Type", TYPE_FLUID);
+                tag.putString("id", Registry.FLUID.getId(stack.getFluid()).toString());
+                tag.putDouble("Amount", stack.getFloatingAmount());
+                return tag;
+            default:
+                return null;
+        }
+    }
+    
+    public static EntryStack readStack(CompoundTag tag) {
+        switch (tag.getByte("Type")) {
+            case TYPE_ITEM:
+                return EntryStack.create(ItemStack.fromTag(tag));
+            case TYPE_FLUID:
+                return EntryStack.create(Registry.FLUID.get(new Identifier(tag.getString("id"))), tag.getDouble("Amount"));
+            default:
+                return EntryStack.empty();
+        }
+    }
+    
+    /**
+     * @return whether the list should be moved to the sidecar, lists with stacks that can't be encoded stay in the config
+     */
+    public static boolean shouldStore(List<EntryStack> stacks) {
+        if (stacks.size() < LARGE_LIST_SIZE)
+            return false;
+        for (EntryStack stack : stacks) {
+            if (stack.getType() != EntryStack.Type.ITEM && stack.getType() != EntryStack.Type.FLUID)
+                return false;
+        }
+        return true;
+    }
+    
+    /**
+     * Writes the lists to the sidecar, or deletes the sidecar if neither list is stored in it.
+     *
+     * @param favorites      the favorites, or {@code null} if they are kept in the config
+     * @param filteredStacks the filtered stacks, or {@code null} if they are kept in the config
+     */
+    public void write(@Nullable List<EntryStack> favorites, @Nullable List<EntryStack> filteredStacks) throws IOException {
+        if (favorites == null && filteredStacks == null) {
+            Files.deleteIfExists(file.toPath());
+            return;
+        }
+        file.getParentFile().mkdirs();
+        File tempFile = new File(file.getParentFile(), file.getName() + ".tmp");
+        try (DataOutputStream stream = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+            stream.writeInt(MAGIC);
+            stream.writeInt(VERSION);
+            writeList(stream, favorites);
+            writeList(stream, filteredStacks);
+        }
+        try {
+            Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+    
+    public void delete() {
+        try {
+            Files.deleteIfExists(file.toPath());
+        } catch (IOException e) {
+            RoughlyEnoughItemsCore.LOGGER.error("Failed to delete the binary storage of favorites and filtered stacks!", e);
+        }
+    }
+    
+    private static void writeList(DataOutputStream stream, @Nullable List<EntryStack> stacks) throws IOException {
+        if (stacks == null) {
+            stream.writeInt(-1);
+            return;
+        }
+        stream.writeInt(stacks.size());
+        ByteBuf buf = Unpooled.buffer();
+        for (EntryStack stack : stacks) {
+            buf.clear();
+            NbtIo.write(writeStack(stack), new ByteBufOutputStream(buf));
+            stream.writeInt(buf.readableBytes());
+            buf.readBytes(stream, buf.readableBytes());
+        }
+    }
+    
+    /**
+     * Reads the sidecar, a corrupted stack is skipped without discarding the rest of the list.
+     *
+     * @return the favorites and the filtered stacks, each {@code null} if it is kept in the config,
+     * or {@code null} if there isn't a valid sidecar
+     */
+    @Nullable
+    public StoredLists read() {
+        if (!file.exists())
+            return null;
+        long start = Util.getMeasuringTimeNano();
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            ByteBuf buf;
+            // Windows can't replace a file while it is mapped, and the mapping is only released once it is collected
+            if (channel.size() >= MAP_THRESHOLD && Util.getOperatingSystem() != Util.OperatingSystem.WINDOWS) {
+                buf = Unpooled.wrappedBuffer(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+            } else {
+                buf = Unpooled.wrappedBuffer(Files.readAllBytes(file.toPath()));
+            }
+            if (buf.readInt() != MAGIC || buf.readInt() != VERSION)
+                return null;
+            StoredLists lists = new StoredLists(readList(buf), readList(buf));
+            RoughlyEnoughItemsCore.LOGGER.info("Read %d favorites and %d filtered stacks from the binary storage in %dms.", lists.favorites == null ? 0 : lists.favorites.size(),
+                    lists.filteredStacks == null ? 0 : lists.filteredStacks.size(), (Util.getMeasuringTimeNano() - start) / 1000000);
+            return lists;
+        } catch (Throwable throwable) {
+            RoughlyEnoughItemsCore.LOGGER.error("Failed to read the binary storage of favorites and filtered stacks!", throwable);
+            return null;
+        }
+    }
+    
+    @Nullable
+    private static List<EntryStack> readList(ByteBuf buf) {
+        int size = buf.readInt();
+        if (size < 0)
+            return null;
+        List<EntryStack> stacks = Lists.newArrayListWithCapacity(size);
+        for (int i = 0; i < size; i++) {
+            int length = buf.readInt();
+            ByteBuf slice = buf.readSlice(length);
+            try {
+                EntryStack stack = readStack(NbtIo.read(new DataInputStream(new ByteBufInputStream(slice))));
+                if (!stack.isEmpty())
+                    stacks.add(stack);
+            } catch (Exception e) {
+                RoughlyEnoughItemsCore.LOGGER.warn("Skipped a corrupted stack in the binary storage.", e);
+            }
+        }
+        return stacks;
+    }
+    
+    @ApiStatus.Internal
+    @Environment(EnvType.CLIENT)
+    public static class StoredLists {
+        @Nullable
+        private final List<EntryStack> favorites;
+        @Nullable
+        private final List<EntryStack> filteredStacks;
+        
+        private StoredLists(@Nullable List<EntryStack> favorites, @Nullable List<EntryStack> filteredStacks) {
+            this.favorites = favorites;
+            this.filteredStacks = filteredStacks;
+        }
+        
+        @Nullable
+        public List<EntryStack> getFavorites() {
+            return favorites;
+        }
+        
+        @Nullable
+        public List<EntryStack> getFilteredStacks() {
+            return filteredStacks;
+        }
+    }
+}
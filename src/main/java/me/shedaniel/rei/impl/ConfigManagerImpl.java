@@ -28,9 +28,11 @@ import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonElement;
 import me.sargunvohra.mcmods.autoconfig1u.AutoConfig;
+import me.sargunvohra.mcmods.autoconfig1u.ConfigData;
 import me.sargunvohra.mcmods.autoconfig1u.annotation.ConfigEntry;
 import me.sargunvohra.mcmods.autoconfig1u.gui.ConfigScreenProvider;
 import me.sargunvohra.mcmods.autoconfig1u.gui.registry.GuiRegistry;
+import me.sargunvohra.mcmods.autoconfig1u.serializer.ConfigSerializer;
 import me.sargunvohra.mcmods.autoconfig1u.serializer.JanksonConfigSerializer;
 import me.sargunvohra.mcmods.autoconfig1u.shadowed.blue.endless.jankson.Jankson;
 import me.sargunvohra.mcmods.autoconfig1u.shadowed.blue.endless.jankson.JsonObject;
@@ -43,7 +45,8 @@ import me.shedaniel.clothconfig2.api.ModifierKeyCode;
 import me.shedaniel.clothconfig2.gui.entries.KeyCodeEntry;
 import me.shedaniel.rei.RoughlyEnoughItemsCore;
 import me.shedaniel.rei.api.*;
-import me.shedaniel.rei.gui.ContainerScreenOverlay;
+import me.shedaniel.rei.gui.BadItemsScreen;
+import me.shedaniel.rei.gui.ReloadProfileScreen;
 import me.shedaniel.rei.gui.config.RecipeScreenType;
 import me.shedaniel.rei.gui.config.entry.FilteringEntry;
 import me.shedaniel.rei.gui.config.entry.NoFilteringEntry;
@@ -68,10 +71,14 @@ import net.minecraft.text.Text;
 import net.minecraft.text.TranslatableText;
 import net.minecraft.util.math.MathHelper;
 import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static me.sargunvohra.mcmods.autoconfig1u.util.Utils.getUnsafely;
 import static me.sargunvohra.mcmods.autoconfig1u.util.Utils.setUnsafely;
@@ -82,10 +89,12 @@ public class ConfigManagerImpl implements ConfigManager {
     
     private boolean craftableOnly;
     private final Gson gson = new GsonBuilder().create();
+    private final BinaryStackStorage stackStorage;
+    private final DebouncedConfigWriter<ConfigSnapshot> configWriter;
     
     public ConfigManagerImpl() {
         this.craftableOnly = false;
-        AutoConfig.register(ConfigObjectImpl.class, (definition, configClass) -> new JanksonConfigSerializer<>(definition, configClass, Jankson.builder().registerPrimitiveTypeAdapter(InputUtil.KeyCode.class, it -> {
+        Jankson jankson = Jankson.builder().registerPrimitiveTypeAdapter(InputUtil.KeyCode.class, it -> {
             return it instanceof String ? InputUtil.fromName((String) it) : null;
         }).registerSerializer(InputUtil.KeyCode.class, (it, marshaller) -> new JsonPrimitive(it.getName())).registerTypeAdapter(ModifierKeyCode.class, o -> {
             String code = ((JsonPrimitive) o.get("keyCode")).asString();
@@ -111,7 +120,11 @@ public class ConfigManagerImpl implements ConfigManager {
                 e.printStackTrace();
                 return null;
             }
-        }).build()));
+        }).build();
+        this.stackStorage = new BinaryStackStorage(new File(FabricLoader.getInstance().getConfigDirectory(), "roughlyenoughitems/stacks.bin"));
+        this.configWriter = new DebouncedConfigWriter<>(new File(FabricLoader.getInstance().getConfigDirectory(), "roughlyenoughitems/config.json5"), snapshot -> serializeSnapshot(jankson, snapshot));
+        AutoConfig.register(ConfigObjectImpl.class, (definition, configClass) -> new DebouncedConfigSerializer<>(new JanksonConfigSerializer<>(definition, configClass, jankson), config -> snapshot(jankson, config)));
+        loadStoredStacks();
         GuiRegistry guiRegistry = AutoConfig.getGuiRegistry(ConfigObjectImpl.class);
         guiRegistry.registerPredicateProvider((i13n, field, config, defaults, guiProvider) -> {
             if (field.isAnnotationPresent(ConfigEntry.Gui.Excluded.class))
@@ -156,6 +169,68 @@ public class ConfigManagerImpl implements ConfigManager {
         ((me.sargunvohra.mcmods.autoconfig1u.ConfigManager<ConfigObjectImpl>) AutoConfig.getConfigHolder(ConfigObjectImpl.class)).save();
     }
     
+    /**
+     * Serializes the config to json on the client thread, leaving the large stack lists out of it. Only the lists
+     * themselves are copied for the {@link BinaryStackStorage}, the stacks in them are not modified once added.
+     */
+    private void snapshot(Jankson jankson, ConfigObjectImpl config) {
+        List<EntryStack> favorites = config.getFavorites();
+        List<EntryStack> filteredStacks = config.getFilteredStacks();
+        boolean storeFavorites = BinaryStackStorage.shouldStore(favorites);
+        boolean storeFilteredStacks = BinaryStackStorage.shouldStore(filteredStacks);
+        JsonObject json;
+        config.setStoredStacks(storeFavorites ? new ArrayList<>() : favorites, storeFilteredStacks ? new ArrayList<>() : filteredStacks);
+        try {
+            json = (JsonObject) jankson.toJson(config);
+        } finally {
+            config.setStoredStacks(favorites, filteredStacks);
+        }
+        configWriter.requestSave(new ConfigSnapshot(json, storeFavorites ? Lists.newArrayList(favorites) : null, storeFilteredStacks ? Lists.newArrayList(filteredStacks) : null));
+    }
+    
+    /**
+     * Adds the stacks of the {@link BinaryStackStorage} to the lists loaded from the config, stacks added to the config
+     * by hand are kept after the stored ones.
+     * <p>
+     * The config can also hold the stored stacks, if it was written without the storage, e.g. by a crash between the
+     * two writes, or by the config screen saving the full lists, so the lists are merged without duplicates.
+     */
+    private void loadStoredStacks() {
+        BinaryStackStorage.StoredLists lists = stackStorage.read();
+        if (lists == null)
+            return;
+        mergeStoredStacks(getConfig().getFavorites(), lists.getFavorites());
+        mergeStoredStacks(getConfig().getFilteredStacks(), lists.getFilteredStacks());
+    }
+    
+    private static void mergeStoredStacks(List<EntryStack> stacks, @Nullable List<EntryStack> storedStacks) {
+        if (storedStacks == null)
+            return;
+        EntryStackSet merged = new EntryStackSet(storedStacks);
+        merged.addAll(stacks);
+        stacks.clear();
+        stacks.addAll(merged);
+    }
+    
+    /**
+     * Writes the large stack lists of a snapshot to the {@link BinaryStackStorage} and turns the rest of the config
+     * into a string, this runs on the writer thread.
+     */
+    private String serializeSnapshot(Jankson jankson, ConfigSnapshot snapshot) {
+        try {
+            stackStorage.write(snapshot.favorites, snapshot.filteredStacks);
+        } catch (IOException e) {
+            RoughlyEnoughItemsCore.LOGGER.error("Failed to save the binary storage of favorites and filtered stacks!", e);
+            // Keep every stack in the config, so the stale storage must not be read again
+            stackStorage.delete();
+            if (snapshot.favorites != null)
+                snapshot.json.getObject("basics").put("favorites", jankson.toJson(snapshot.favorites));
+            if (snapshot.filteredStacks != null)
+                snapshot.json.getObject("advanced").getObject("filtering").put("filteredStacks", jankson.toJson(snapshot.filteredStacks));
+        }
+        return snapshot.json.toJson(true, true);
+    }
+    
     public ConfigObject getConfig() {
         return AutoConfig.getConfigHolder(ConfigObjectImpl.class).getConfig();
     }
@@ -191,11 +266,20 @@ public class ConfigManagerImpl implements ConfigManager {
                     ((ScreenHooks) screen).cloth$addButtonWidget(new ButtonWidget(screen.width - 104, 4, 100, 20, new TranslatableText("text.rei.credits"), button -> {
                         MinecraftClient.getInstance().openScreen(new CreditsScreen(screen));
                     }));
+                    RecipeHelper.getInstance().getLastReloadProfile().ifPresent(profile -> {
+                        ((ScreenHooks) screen).cloth$addButtonWidget(new ButtonWidget(screen.width - 208, 4, 100, 20, new TranslatableText("text.rei.reload_profile"), button -> {
+                            MinecraftClient.getInstance().openScreen(new ReloadProfileScreen(screen, profile));
+                        }));
+                    });
+                    if (!BadItemRegistry.getRecords().isEmpty()) {
+                        int x = screen.width - (RecipeHelper.getInstance().getLastReloadProfile().isPresent() ? 312 : 208);
+                        ((ScreenHooks) screen).cloth$addButtonWidget(new ButtonWidget(x, 4, 100, 20, new TranslatableText("text.rei.bad_items"), button -> {
+                            MinecraftClient.getInstance().openScreen(new BadItemsScreen(screen));
+                        }));
+                    }
                 }).setSavingRunnable(() -> {
                     saveConfig();
-                    ((EntryRegistryImpl) EntryRegistry.getInstance()).refilter();
-                    if (ScreenHelper.getSearchField() != null)
-                        ContainerScreenOverlay.getEntryListWidget().updateSearch(ScreenHelper.getSearchField().getText(), true);
+                    ((EntryRegistryImpl) EntryRegistry.getInstance()).refilterAsync();
                 }).build();
             });
             return provider.get();
@@ -205,6 +289,49 @@ public class ConfigManagerImpl implements ConfigManager {
         return null;
     }
     
+    private static class ConfigSnapshot {
+        private final JsonObject json;
+        @Nullable
+        private final List<EntryStack> favorites;
+        @Nullable
+        private final List<EntryStack> filteredStacks;
+        
+        private ConfigSnapshot(JsonObject json, @Nullable List<EntryStack> favorites, @Nullable List<EntryStack> filteredStacks) {
+            this.json = json;
+            this.favorites = favorites;
+            this.filteredStacks = filteredStacks;
+        }
+    }
+    
+    /**
+     * Loads the config with the Jankson serializer, every save of the config holder goes through the
+     * {@link DebouncedConfigWriter} instead, so there is only one path writing the config.
+     */
+    private static class DebouncedConfigSerializer<T extends ConfigData> implements ConfigSerializer<T> {
+        private final ConfigSerializer<T> loader;
+        private final Consumer<T> saver;
+        
+        private DebouncedConfigSerializer(ConfigSerializer<T> loader, Consumer<T> saver) {
+            this.loader = loader;
+            this.saver = saver;
+        }
+        
+        @Override
+        public void serialize(T config) {
+            saver.accept(config);
+        }
+        
+        @Override
+        public T deserialize() throws SerializationException {
+            return loader.deserialize();
+        }
+        
+        @Override
+        public T createDefault() {
+            return loader.createDefault();
+        }
+    }
+    
     public static class ConfigErrorScreen extends Screen {
         private final Text message;
         private final Screen parent;
@@ -204,6 +204,16 @@ public class ConfigObjectImpl implements ConfigObject, ConfigData {
         return advanced.miscellaneous.registerRecipesInAnotherThread;
     }
     
+    @Override
+    public boolean doesRegisterRecipesInParallel() {
+        return advanced.miscellaneous.registerRecipesInParallel;
+    }
+    
+    @Override
+    public boolean doesCacheReloadResults() {
+        return advanced.miscellaneous.cacheReloadResults;
+    }
+    
     @Override
     public boolean doesSnapToRows() {
         return advanced.accessibility.snapToRows;
@@ -304,6 +314,14 @@ public class ConfigObjectImpl implements ConfigObject, ConfigData {
         return advanced.filtering.filteredStacks;
     }
     
+    /**
+     * Replaces the lists of stacks kept in the {@link BinaryStackStorage}.
+     */
+    void setStoredStacks(List<EntryStack> favorites, List<EntryStack> filteredStacks) {
+        basics.favorites = favorites;
+        advanced.filtering.filteredStacks = filteredStacks;
+    }
+    
     @Override
     public List<FilteringRule<?>> getFilteringRules() {
         return advanced.filtering.filteringRules;
@@ -465,6 +483,8 @@ public class ConfigObjectImpl implements ConfigObject, ConfigData {
             @Comment("Declares whether arrows in containers should be clickable.") private boolean clickableRecipeArrows = true;
             @Comment("To disable REI's default plugin.\nDon't change this unless you understand what you are doing!") private boolean loadDefaultPlugin = true;
             private boolean registerRecipesInAnotherThread = true;
+            @Comment("Declares whether plugins that are thread safe should register their displays in parallel.") private boolean registerRecipesInParallel = false;
+            @Comment("Declares whether the filtering of the entries should be cached on disk to speed up reloading with the same recipes and mods.") private boolean cacheReloadResults = false;
             @Comment("Whether REI should render entry's enchantment glint") private boolean renderEntryEnchantmentGlint = true;
             private boolean newFastEntryRendering = true;
         }
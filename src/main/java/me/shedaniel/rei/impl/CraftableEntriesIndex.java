@@ -0,0 +1,257 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.shedaniel.rei.impl;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import me.shedaniel.rei.RoughlyEnoughItemsCore;
+import me.shedaniel.rei.api.ConfigObject;
+import me.shedaniel.rei.api.EntryStack;
+import me.shedaniel.rei.api.RecipeDisplay;
+import me.shedaniel.rei.api.fluid.FluidSupportProvider;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.minecraft.item.ItemStack;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.Util;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Reverse index from the identity of an ingredient (its item or fluid) to the required slots of the displays accepting it,
+ * used to find the craftable entries of an inventory.
+ * <p>
+ * The index keeps which slots the last inventory satisfies and how many slots of each display are satisfied,
+ * so a new inventory only re-evaluates the slots referencing the item types that changed.
+ */
+@ApiStatus.Internal
+@Environment(EnvType.CLIENT)
+public class CraftableEntriesIndex {
+    private static final Object EMPTY_KEY = EntryStack.Type.EMPTY;
+    private final List<RecipeDisplay> displays = Lists.newArrayList();
+    private final List<List<EntryStack>> slots = Lists.newArrayList();
+    private final IntList slotDisplays = new IntArrayList();
+    private final Map<Object, IntList> slotsByKey = Maps.newHashMap();
+    private final BitSet unindexedSlots = new BitSet();
+    private int[] slotCounts = new int[0];
+    private int[] satisfiedCounts = new int[0];
+    private final BitSet satisfiedSlots = new BitSet();
+    private Map<Object, List<EntryStack>> inventory = Collections.emptyMap();
+    @Nullable
+    private List<EntryStack> craftables;
+    private boolean dirty = true;
+    
+    public synchronized void markDirty() {
+        this.dirty = true;
+    }
+    
+    public synchronized boolean isDirty() {
+        return dirty;
+    }
+    
+    public synchronized void build(Map<Identifier, List<RecipeDisplay>> recipeCategoryListMap) {
+        long start = Util.getMeasuringTimeNano();
+        displays.clear();
+        slots.clear();
+        slotDisplays.clear();
+        slotsByKey.clear();
+        unindexedSlots.clear();
+        satisfiedSlots.clear();
+        inventory = Collections.emptyMap();
+        craftables = null;
+        IntList counts = new IntArrayList();
+        List<Object> keys = Lists.newArrayList();
+        for (List<RecipeDisplay> categoryDisplays : recipeCategoryListMap.values()) {
+            for (RecipeDisplay display : Lists.newArrayList(categoryDisplays)) {
+                List<List<EntryStack>> requiredEntries;
+                try {
+                    requiredEntries = display.getRequiredEntries();
+                } catch (Throwable throwable) {
+                    RoughlyEnoughItemsCore.LOGGER.error("Failed to index recipe display " + display.getClass().getName() + "!", throwable);
+                    continue;
+                }
+                int displayIndex = displays.size();
+                displays.add(display);
+                counts.add(requiredEntries.size());
+                for (List<EntryStack> slot : requiredEntries) {
+                    int slotIndex = slots.size();
+                    slots.add(slot);
+                    slotDisplays.add(displayIndex);
+                    if (slot.isEmpty()) {
+                        satisfiedSlots.set(slotIndex);
+                        continue;
+                    }
+                    for (EntryStack stack : slot) {
+                        keys.clear();
+                        if (!collectKeys(stack, keys)) {
+                            unindexedSlots.set(slotIndex);
+                            continue;
+                        }
+                        for (Object key : keys) {
+                            IntList list = slotsByKey.computeIfAbsent(key, k -> new IntArrayList());
+                            if (list.isEmpty() || list.getInt(list.size() - 1) != slotIndex)
+                                list.add(slotIndex);
+                        }
+                    }
+                }
+            }
+        }
+        slotCounts = counts.toIntArray();
+        satisfiedCounts = new int[slotCounts.length];
+        for (int slot = satisfiedSlots.nextSetBit(0); slot >= 0; slot = satisfiedSlots.nextSetBit(slot + 1)) {
+            satisfiedCounts[slotDisplays.getInt(slot)]++;
+        }
+        dirty = false;
+        long end = Util.getMeasuringTimeNano();
+        String message = String.format("Built Craftable Entries Index in %dμs for %d displays and %d slots.", (end - start) / 1000, displays.size(), slots.size());
+        if (ConfigObject.getInstance().doDebugSearchTimeRequired()) {
+            RoughlyEnoughItemsCore.LOGGER.info(message);
+        } else {
+            RoughlyEnoughItemsCore.LOGGER.trace(message);
+        }
+    }
+    
+    /**
+     * Collects the keys an entry is indexed under, an item is also indexed under the fluid it holds.
+     *
+     * @return whether the entry can be indexed at all
+     */
+    private static boolean collectKeys(EntryStack stack, List<Object> keys) {
+        if (stack.isEmpty()) {
+            keys.add(EMPTY_KEY);
+            return true;
+        }
+        switch (stack.getType()) {
+            case ITEM:
+                keys.add(stack.getItem());
+                EntryStack fluid = ((FluidSupportProviderImpl) FluidSupportProvider.INSTANCE).getCachedFluid(stack);
+                if (!fluid.isEmpty() && fluid.getType() == EntryStack.Type.FLUID)
+                    keys.add(fluid.getFluid());
+                return true;
+            case FLUID:
+                keys.add(stack.getFluid());
+                return true;
+            default:
+                return false;
+        }
+    }
+    
+    /**
+     * Finds the outputs of every display that has all of its required slots satisfied by the inventory.
+     *
+     * @param inventoryItems the stacks in the inventory
+     * @return the distinct craftable entries
+     */
+    public synchronized List<EntryStack> findCraftableEntries(List<EntryStack> inventoryItems) {
+        Map<Object, List<EntryStack>> newInventory = Maps.newHashMap();
+        List<Object> keys = Lists.newArrayList();
+        for (EntryStack stack : inventoryItems) {
+            keys.clear();
+            if (!collectKeys(stack, keys))
+                keys.add(stack.getType());
+            for (Object key : keys)
+                newInventory.computeIfAbsent(key, k -> Lists.newArrayList()).add(stack);
+        }
+        // Slots with entries that can't be indexed are checked against the whole inventory every time
+        BitSet changedSlots = (BitSet) unindexedSlots.clone();
+        for (Object key : Sets.union(inventory.keySet(), newInventory.keySet())) {
+            if (!isSameStacks(inventory.get(key), newInventory.get(key))) {
+                IntList list = slotsByKey.get(key);
+                if (list != null) {
+                    for (int i = 0; i < list.size(); i++)
+                        changedSlots.set(list.getInt(i));
+                }
+            }
+        }
+        inventory = newInventory;
+        boolean changed = false;
+        for (int slot = changedSlots.nextSetBit(0); slot >= 0; slot = changedSlots.nextSetBit(slot + 1)) {
+            boolean satisfied = isSatisfied(slots.get(slot));
+            if (satisfied != satisfiedSlots.get(slot)) {
+                satisfiedSlots.set(slot, satisfied);
+                satisfiedCounts[slotDisplays.getInt(slot)] += satisfied ? 1 : -1;
+                changed = true;
+            }
+        }
+        if (changed || craftables == null) {
+            List<EntryStack> list = Lists.newArrayList();
+            for (int i = 0; i < displays.size(); i++) {
+                if (satisfiedCounts[i] == slotCounts[i])
+                    list.addAll(displays.get(i).getOutputEntries());
+            }
+            craftables = Collections.unmodifiableList(list.stream().distinct().collect(Collectors.toList()));
+        }
+        return craftables;
+    }
+    
+    private boolean isSatisfied(List<EntryStack> slot) {
+        if (slot.isEmpty())
+            return true;
+        List<Object> keys = Lists.newArrayList();
+        for (EntryStack slotPossible : slot) {
+            keys.clear();
+            if (!collectKeys(slotPossible, keys)) {
+                for (List<EntryStack> stacks : inventory.values()) {
+                    for (EntryStack possibleType : stacks)
+                        if (possibleType.equals(slotPossible))
+                            return true;
+                }
+                continue;
+            }
+            for (Object key : keys) {
+                List<EntryStack> stacks = inventory.get(key);
+                if (stacks != null) {
+                    for (EntryStack possibleType : stacks)
+                        if (possibleType.equals(slotPossible))
+                            return true;
+                }
+            }
+        }
+        return false;
+    }
+    
+    private static boolean isSameStacks(@Nullable List<EntryStack> stacks, @Nullable List<EntryStack> otherStacks) {
+        if (stacks == null || otherStacks == null)
+            return stacks == otherStacks;
+        if (stacks.size() != otherStacks.size())
+            return false;
+        for (int i = 0; i < stacks.size(); i++) {
+            EntryStack stack = stacks.get(i);
+            EntryStack otherStack = otherStacks.get(i);
+            if (stack.getType() == EntryStack.Type.ITEM && otherStack.getType() == EntryStack.Type.ITEM) {
+                if (!ItemStack.areEqual(stack.getItemStack(), otherStack.getItemStack()))
+                    return false;
+            } else if (stack.getType() != otherStack.getType() || !stack.equalsIgnoreAmount(otherStack) || stack.getFloatingAmount() != otherStack.getFloatingAmount()) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
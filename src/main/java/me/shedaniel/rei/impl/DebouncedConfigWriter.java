@@ -0,0 +1,125 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.shedaniel.rei.impl;
+
+import me.shedaniel.rei.RoughlyEnoughItemsCore;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import org.jetbrains.annotations.ApiStatus;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Writes the config on a background thread, saves requested within {@link #DELAY_MS} of each other are coalesced
+ * into one write of the latest snapshot.
+ * <p>
+ * The config is written to a temporary file that is then moved over the config, so a crash never leaves a half
+ * written config behind. Pending saves are flushed when the game shuts down.
+ *
+ * @param <T> the type of the snapshots of the config
+ */
+@ApiStatus.Internal
+@Environment(EnvType.CLIENT)
+public class DebouncedConfigWriter<T> {
+    private static final long DELAY_MS = 500;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "REI-ConfigWriter");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final File file;
+    private final Function<T, String> serializer;
+    private final AtomicReference<T> pending = new AtomicReference<>();
+    private final Object writeLock = new Object();
+    private boolean scheduled = false;
+    
+    /**
+     * @param file       the config file
+     * @param serializer serializes a snapshot of the config, it runs on the writer thread
+     */
+    public DebouncedConfigWriter(File file, Function<T, String> serializer) {
+        this.file = file;
+        this.serializer = serializer;
+        Runtime.getRuntime().addShutdownHook(new Thread(this::flush, "REI-ConfigWriter-Shutdown"));
+    }
+    
+    /**
+     * Requests the config to be written, returns immediately.
+     *
+     * @param snapshot the snapshot of the config to write, it must not be modified afterwards
+     */
+    public void requestSave(T snapshot) {
+        pending.set(snapshot);
+        synchronized (this) {
+            if (scheduled)
+                return;
+            scheduled = true;
+        }
+        executor.schedule(() -> {
+            synchronized (this) {
+                scheduled = false;
+            }
+            flush();
+        }, DELAY_MS, TimeUnit.MILLISECONDS);
+    }
+    
+    /**
+     * Writes the pending save on the current thread, if there is one.
+     */
+    public void flush() {
+        synchronized (writeLock) {
+            T snapshot = pending.getAndSet(null);
+            if (snapshot == null)
+                return;
+            try {
+                String json = serializer.apply(snapshot);
+                file.getParentFile().mkdirs();
+                File tempFile = new File(file.getParentFile(), file.getName() + ".tmp");
+                try (Writer writer = new OutputStreamWriter(Files.newOutputStream(tempFile.toPath()), StandardCharsets.UTF_8)) {
+                    writer.write(json);
+                }
+                try {
+                    Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                }
+            } catch (IOException | RuntimeException e) {
+                RoughlyEnoughItemsCore.LOGGER.error("Failed to save config!", e);
+                // Keep the save pending for the next request or the shutdown, unless a newer snapshot replaced it
+                pending.compareAndSet(null, snapshot);
+            }
+        }
+    }
+}
@@ -31,10 +31,13 @@ import me.shedaniel.rei.api.ConfigObject;
 import me.shedaniel.rei.api.EntryRegistry;
 import me.shedaniel.rei.api.EntryStack;
 import me.shedaniel.rei.api.RecipeHelper;
-import me.shedaniel.rei.impl.filtering.FilteringContextImpl;
+import me.shedaniel.rei.gui.ContainerScreenOverlay;
+import me.shedaniel.rei.impl.filtering.FilteringCache;
 import me.shedaniel.rei.impl.filtering.FilteringRule;
+import me.shedaniel.rei.impl.search.SearchDocumentCache;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
+import net.minecraft.client.MinecraftClient;
 import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 import net.minecraft.util.Pair;
@@ -43,28 +46,33 @@ import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
 import java.util.stream.Collectors;
 
 @ApiStatus.Internal
 @Environment(EnvType.CLIENT)
 public class EntryRegistryImpl implements EntryRegistry {
     
-    private final List<EntryStack> preFilteredList = Lists.newCopyOnWriteArrayList();
+    private static final ExecutorService REFILTER = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "REI-Refilter");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicLong refilterVersion = new AtomicLong();
+    private final FilteringCache filteringCache = new FilteringCache();
+    private volatile List<EntryStack> preFilteredList = Collections.emptyList();
     private final List<EntryStack> entries = Lists.newCopyOnWriteArrayList();
     private final Queue<Pair<EntryStack, Collection<? extends EntryStack>>> queueRegisterEntryStackAfter = Queues.newConcurrentLinkedQueue();
-    private List<EntryStack> reloadList;
+    private IndexedEntryStackList reloadList;
     private boolean doingDistinct = false;
     
-    private static EntryStack findFirstOrNullEqualsEntryIgnoreAmount(Collection<EntryStack> list, EntryStack obj) {
-        for (EntryStack t : list) {
-            if (t.equalsIgnoreAmount(obj))
-                return t;
-        }
-        return null;
-    }
-    
     public void distinct() {
-        preFilteredList.clear();
+        publish(refilterVersion.incrementAndGet(), Collections.emptyList());
+        filteringCache.invalidate();
         doingDistinct = true;
         while (true) {
             Pair<EntryStack, Collection<? extends EntryStack>> pair = queueRegisterEntryStackAfter.poll();
@@ -122,28 +130,90 @@ public class EntryRegistryImpl implements EntryRegistry {
     
     public void refilter() {
         long started = System.currentTimeMillis();
-        FilteringContextImpl context = new FilteringContextImpl(getStacksList());
+        long version = refilterVersion.incrementAndGet();
+        SearchDocumentCache.rebuild(getStacksList());
         List<FilteringRule<?>> rules = ConfigObject.getInstance().getFilteringRules();
-        for (int i = rules.size() - 1; i >= 0; i--) {
-            context.handleResult(rules.get(i).processFilteredStacks(context));
-        }
-        preFilteredList.clear();
-        Collection<EntryStack> filteredStacks = context.getHiddenStacks();
-        for (EntryStack stack : getStacksList()) {
-            if (findFirstOrNullEqualsEntryIgnoreAmount(filteredStacks, stack) == null)
-                preFilteredList.add(stack);
-        }
+        List<EntryStack> stacks = getStacksList();
+        List<EntryStack> list = filter(stacks, rules, () -> false);
+        publish(version, list);
+        long time = System.currentTimeMillis() - started;
+        RoughlyEnoughItemsCore.LOGGER.info("Refiltered %d entries with %d rules in %dms.", stacks.size() - list.size(), rules.size(), time);
+    }
+    
+    /**
+     * Refilters the entries on a background thread, the new list is published on the client thread and the search of
+     * the overlay is updated once it lands, until then the previous list stays in use.
+     * <p>
+     * Calling this again, refiltering or reloading cancels the refilter still running, and its result is dropped.
+     *
+     * @return a future completed with whether the new list has been published
+     */
+    public CompletableFuture<Boolean> refilterAsync() {
+        long version = refilterVersion.incrementAndGet();
+        BooleanSupplier superseded = () -> refilterVersion.get() != version;
+        List<EntryStack> stacks = Lists.newArrayList(getStacksList());
+        List<FilteringRule<?>> rules = Lists.newArrayList(ConfigObject.getInstance().getFilteringRules());
+        long started = System.currentTimeMillis();
+        return CompletableFuture.supplyAsync(() -> filter(stacks, rules, superseded), REFILTER).thenApplyAsync(list -> {
+            if (list == null || !publish(version, list))
+                return false;
+            long time = System.currentTimeMillis() - started;
+            RoughlyEnoughItemsCore.LOGGER.info("Refiltered %d entries with %d rules in %dms.", stacks.size() - list.size(), rules.size(), time);
+            if (ScreenHelper.getOptionalOverlay().isPresent() && ScreenHelper.getSearchField() != null)
+                ContainerScreenOverlay.getEntryListWidget().updateSearch(ScreenHelper.getSearchField().getText(), true);
+            return true;
+        }, MinecraftClient.getInstance()).exceptionally(throwable -> {
+            RoughlyEnoughItemsCore.LOGGER.error("Failed to refilter entries!", throwable);
+            return false;
+        });
+    }
+    
+    /**
+     * Publishes the filtered stacks, unless a newer refilter or reload has started since {@code version} was taken.
+     *
+     * @return whether the stacks have been published
+     */
+    private synchronized boolean publish(long version, List<EntryStack> list) {
+        if (refilterVersion.get() != version)
+            return false;
+        preFilteredList = list;
+        return true;
+    }
+    
+    /**
+     * @return the stacks not hidden by the rules, or {@code null} if the refilter has been superseded
+     */
+    @Nullable
+    private List<EntryStack> filter(List<EntryStack> stacks, List<FilteringRule<?>> rules, BooleanSupplier superseded) {
+        BitSet hidden = filteringCache.filter(stacks, rules, superseded);
+        if (hidden == null || superseded.getAsBoolean())
+            return null;
+        return Collections.unmodifiableList(FilteringCache.collectShown(stacks, hidden));
+    }
+    
+    /**
+     * Restores the filtering result from the {@link ReloadCache} instead of running the filtering rules.
+     *
+     * @param hidden the indices of the entries hidden by the filtering rules
+     */
+    public void refilter(BitSet hidden) {
+        long started = System.currentTimeMillis();
+        long version = refilterVersion.incrementAndGet();
+        SearchDocumentCache.rebuild(getStacksList());
+        publish(version, Collections.unmodifiableList(FilteringCache.collectShown(getStacksList(), hidden)));
         long time = System.currentTimeMillis() - started;
-        RoughlyEnoughItemsCore.LOGGER.info("Refiltered %d entries with %d rules in %dms.", filteredStacks.size(), rules.size(), time);
+        RoughlyEnoughItemsCore.LOGGER.info("Restored filtering of %d entries from the reload cache in %dms.", hidden.cardinality(), time);
     }
     
     public void reset() {
         doingDistinct = false;
-        reloadList = Lists.newArrayList();
+        reloadList = new IndexedEntryStackList();
         queueRegisterEntryStackAfter.clear();
         entries.clear();
         reloadList.clear();
-        preFilteredList.clear();
+        publish(refilterVersion.incrementAndGet(), Collections.emptyList());
+        filteringCache.invalidate();
+        SearchDocumentCache.invalidate();
     }
     
     @Override
@@ -171,6 +241,8 @@ public class EntryRegistryImpl implements EntryRegistry {
             return;
         if (afterEntry == null) {
             getStacksList().add(stack);
+        } else if (getStacksList() == reloadList) {
+            reloadList.addAllAfter(afterEntry, EntryStack::equalsAll, Collections.singletonList(stack));
         } else {
             int last = getStacksList().size();
             for (int i = last - 1; i >= 0; i--)
@@ -193,7 +265,9 @@ public class EntryRegistryImpl implements EntryRegistry {
     
     @Override
     public void registerEntriesAfter(EntryStack afterStack, Collection<? extends EntryStack> stacks) {
-        if (afterStack != null) {
+        if (afterStack != null && getStacksList() == reloadList) {
+            reloadList.addAllAfter(afterStack, EntryStack::equalsIgnoreAmount, stacks);
+        } else if (afterStack != null) {
             int index = getStacksList().size();
             for (int i = index - 1; i >= 0; i--) {
                 if (getStacksList().get(i).equalsIgnoreAmount(afterStack)) {
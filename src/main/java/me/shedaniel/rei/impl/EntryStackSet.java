@@ -0,0 +1,168 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.shedaniel.rei.impl;
+
+import com.google.common.collect.Lists;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import me.shedaniel.rei.api.EntryStack;
+import me.shedaniel.rei.api.fluid.FluidSupportProvider;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Insertion ordered set of {@link EntryStack} where two stacks are the same if {@link EntryStack#equalsIgnoreAmount(EntryStack)},
+ * stacks are bucketed by {@link EntryStack#hashIgnoreAmount()} so lookups don't have to scan the whole set.
+ * <p>
+ * Items that are convertible to fluids are bucketed by the hash of their fluid, since they compare equal to the fluid.
+ */
+@ApiStatus.Internal
+public class EntryStackSet extends AbstractSet<EntryStack> {
+    private final Int2ObjectMap<List<EntryStack>> buckets = new Int2ObjectOpenHashMap<>();
+    private final List<EntryStack> stacks;
+    
+    public EntryStackSet() {
+        this.stacks = Lists.newArrayList();
+    }
+    
+    public EntryStackSet(Collection<EntryStack> stacks) {
+        this.stacks = Lists.newArrayListWithCapacity(stacks.size());
+        addAll(stacks);
+    }
+    
+    private static int hash(EntryStack stack) {
+        if (stack.getType() == EntryStack.Type.ITEM) {
+            EntryStack fluid = ((FluidSupportProviderImpl) FluidSupportProvider.INSTANCE).getCachedFluid(stack);
+            if (!fluid.isEmpty())
+                return fluid.hashIgnoreAmount();
+        }
+        return stack.hashIgnoreAmount();
+    }
+    
+    /**
+     * Finds the stack in this set that is equal to the given stack ignoring the amount.
+     *
+     * @param stack the stack to look up
+     * @return the stack in this set, or {@code null} if absent
+     */
+    @Nullable
+    public EntryStack find(EntryStack stack) {
+        List<EntryStack> bucket = buckets.get(hash(stack));
+        if (bucket != null) {
+            for (EntryStack t : bucket) {
+                if (t.equalsIgnoreAmount(stack))
+                    return t;
+            }
+        }
+        return null;
+    }
+    
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof EntryStack && find((EntryStack) o) != null;
+    }
+    
+    @Override
+    public boolean add(EntryStack stack) {
+        List<EntryStack> bucket = buckets.computeIfAbsent(hash(stack), h -> Lists.newArrayListWithCapacity(1));
+        for (EntryStack t : bucket) {
+            if (t.equalsIgnoreAmount(stack))
+                return false;
+        }
+        bucket.add(stack);
+        stacks.add(stack);
+        return true;
+    }
+    
+    @Override
+    public boolean remove(Object o) {
+        if (!(o instanceof EntryStack))
+            return false;
+        EntryStack stack = find((EntryStack) o);
+        if (stack == null)
+            return false;
+        removeFromBucket(stack);
+        removeIdentity(stacks, stack);
+        return true;
+    }
+    
+    private void removeFromBucket(EntryStack stack) {
+        int hash = hash(stack);
+        List<EntryStack> bucket = buckets.get(hash);
+        removeIdentity(bucket, stack);
+        if (bucket.isEmpty())
+            buckets.remove(hash);
+    }
+    
+    private static void removeIdentity(List<EntryStack> list, EntryStack stack) {
+        for (int i = 0; i < list.size(); i++) {
+            if (list.get(i) == stack) {
+                list.remove(i);
+                return;
+            }
+        }
+    }
+    
+    @Override
+    public void clear() {
+        buckets.clear();
+        stacks.clear();
+    }
+    
+    @Override
+    public int size() {
+        return stacks.size();
+    }
+    
+    @NotNull
+    @Override
+    public Iterator<EntryStack> iterator() {
+        Iterator<EntryStack> iterator = stacks.iterator();
+        return new Iterator<EntryStack>() {
+            private EntryStack last;
+            
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+            
+            @Override
+            public EntryStack next() {
+                return last = iterator.next();
+            }
+            
+            @Override
+            public void remove() {
+                iterator.remove();
+                removeFromBucket(last);
+            }
+        };
+    }
+}
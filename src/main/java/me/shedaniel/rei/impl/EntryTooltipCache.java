@@ -0,0 +1,89 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.shedaniel.rei.impl;
+package me.shedaniel.rei.impl;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import me.shedaniel.rei.api.EntryStack;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.minecraft.text.Text;
+import org.jetbrains.annotations.ApiStatus;
+
+import java.util.function.Supplier;
+
+/**
+ * Bounded caches of the searched tooltips and the names of entry stacks, keyed by the identity of the registered
+ * stack, views are keyed by the stack they display. The tooltips are also keyed by whether advanced tooltips are enabled.
+ * <p>
+ * Only the tooltip search goes through the tooltip cache, the tooltips of hovered entries depend on the held
+ * modifier keys and the player and are built on every call.
+ * The caches are cleared when the resources or the language are reloaded.
+ */
+@ApiStatus.Internal
+@Environment(EnvType.CLIENT)
+public final class EntryTooltipCache {
+    private static final int MAXIMUM_SIZE = 4096;
+    private static final Cache<EntryStack, String> TOOLTIPS = createCache();
+    private static final Cache<EntryStack, String> ADVANCED_TOOLTIPS = createCache();
+    private static final Cache<EntryStack, Text> NAMES = createCache();
+    
+    private EntryTooltipCache() {
+    }
+    
+    private static <V> Cache<EntryStack, V> createCache() {
+        return CacheBuilder.newBuilder().weakKeys().maximumSize(MAXIMUM_SIZE).build();
+    }
+    
+    private static EntryStack getKey(EntryStack stack) {
+        return stack instanceof ItemEntryStackView ? ((ItemEntryStackView) stack).getBackingStack() : stack;
+    }
+    
+    public static String getSearchTooltip(EntryStack stack, boolean advanced, Supplier<String> tooltipSupplier) {
+        Cache<EntryStack, String> cache = advanced ? ADVANCED_TOOLTIPS : TOOLTIPS;
+        EntryStack key = getKey(stack);
+        String tooltip = cache.getIfPresent(key);
+        if (tooltip == null) {
+            tooltip = tooltipSupplier.get();
+            cache.put(key, tooltip);
+        }
+        return tooltip;
+    }
+    
+    public static Text getName(EntryStack stack, Supplier<Text> nameSupplier) {
+        EntryStack key = getKey(stack);
+        Text name = NAMES.getIfPresent(key);
+        if (name == null) {
+            name = nameSupplier.get();
+            NAMES.put(key, name);
+        }
+        return name;
+    }
+    
+    public static void invalidate() {
+        TOOLTIPS.invalidateAll();
+        ADVANCED_TOOLTIPS.invalidateAll();
+        NAMES.invalidateAll();
+    }
+}
@@ -29,6 +29,7 @@ import me.shedaniel.math.Rectangle;
 import me.shedaniel.rei.api.ClientHelper;
 import me.shedaniel.rei.api.ConfigObject;
 import me.shedaniel.rei.api.EntryStack;
+import me.shedaniel.rei.api.fluid.FluidSupportProvider;
 import me.shedaniel.rei.api.widgets.Tooltip;
 import me.shedaniel.rei.utils.CollectionUtils;
 import net.fabricmc.fabric.api.client.render.fluid.v1.FluidRenderHandler;
@@ -127,7 +128,7 @@ public class FluidEntryStack extends AbstractEntryStack {
     @Override
     public boolean equalsIgnoreTagsAndAmount(EntryStack stack) {
         if (stack.getType() == Type.ITEM)
-            return equalsIgnoreTagsAndAmount(EntryStack.copyItemToFluid(stack));
+            return equalsIgnoreTagsAndAmount(((FluidSupportProviderImpl) FluidSupportProvider.INSTANCE).getCachedFluid(stack));
         if (stack.getType() != Type.FLUID)
             return false;
         return fluid == stack.getFluid();
@@ -136,7 +137,7 @@ public class FluidEntryStack extends AbstractEntryStack {
     @Override
     public boolean equalsIgnoreTags(EntryStack stack) {
         if (stack.getType() == Type.ITEM)
-            return equalsIgnoreTags(EntryStack.copyItemToFluid(stack));
+            return equalsIgnoreTags(((FluidSupportProviderImpl) FluidSupportProvider.INSTANCE).getCachedFluid(stack));
         if (stack.getType() != Type.FLUID)
             return false;
         return fluid == stack.getFluid() && (amount == IGNORE_AMOUNT || stack.getAmount() == IGNORE_AMOUNT || amount == stack.getAmount());
@@ -145,7 +146,7 @@ public class FluidEntryStack extends AbstractEntryStack {
     @Override
     public boolean equalsIgnoreAmount(EntryStack stack) {
         if (stack.getType() == Type.ITEM)
-            return equalsIgnoreAmount(EntryStack.copyItemToFluid(stack));
+            return equalsIgnoreAmount(((FluidSupportProviderImpl) FluidSupportProvider.INSTANCE).getCachedFluid(stack));
         if (stack.getType() != Type.FLUID)
             return false;
         return fluid == stack.getFluid();
@@ -24,37 +24,117 @@
 package me.shedaniel.rei.impl;
 
 import com.google.common.collect.Lists;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 import me.shedaniel.rei.api.EntryStack;
 import me.shedaniel.rei.api.fluid.FluidSupportProvider;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.CompoundTag;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 @ApiStatus.Experimental
 @ApiStatus.Internal
 public class FluidSupportProviderImpl implements FluidSupportProvider {
-    private final List<FluidProvider> providers = Lists.newArrayList();
+    private static final int MAX_CONVERSIONS_PER_ITEM = 256;
+    private final List<FluidProvider> providers = Lists.newCopyOnWriteArrayList();
+    private final Map<Item, ItemConversions> conversions = new ConcurrentHashMap<>();
     
     public void reset() {
         providers.clear();
+        conversions.clear();
     }
     
     @Override
     public void registerFluidProvider(@NotNull FluidProvider provider) {
         providers.add(Objects.requireNonNull(provider, "Registered provider is null!"));
+        conversions.clear();
     }
     
     @Override
     public @NotNull EntryStack itemToFluid(@NotNull EntryStack itemStack) {
+        EntryStack fluid = getCachedFluid(itemStack);
+        return fluid.isEmpty() ? fluid : fluid.copy();
+    }
+    
+    /**
+     * Converts an item to its fluid like {@link #itemToFluid(EntryStack)}, but returns the memoized stack instead of a copy.
+     * The returned stack is shared and must not be mutated.
+     */
+    @ApiStatus.Internal
+    @NotNull
+    public EntryStack getCachedFluid(@NotNull EntryStack itemStack) {
         if (itemStack.isEmpty()) return EntryStack.empty();
         if (itemStack.getType() != EntryStack.Type.ITEM)
             throw new IllegalArgumentException("EntryStack must be item!");
+        if (providers.isEmpty()) return EntryStack.empty();
+        ItemStack stack = itemStack.getItemStack();
+        ItemConversions itemConversions = conversions.computeIfAbsent(stack.getItem(), item -> new ItemConversions());
+        EntryStack fluid = itemConversions.get(stack);
+        if (fluid == null) {
+            fluid = convert(itemStack);
+            itemConversions.put(stack, fluid);
+        }
+        return fluid;
+    }
+    
+    private EntryStack convert(EntryStack itemStack) {
         for (FluidProvider provider : providers) {
             EntryStack stack = Objects.requireNonNull(provider.itemToFluid(itemStack), provider.getClass() + " is creating null objects for itemToFluid!");
             if (!stack.isEmpty()) return stack;
         }
         return EntryStack.empty();
     }
+    
+    /**
+     * Conversions of a single item, bucketed by the hash of the tag and matched against the tag and count.
+     */
+    private static class ItemConversions {
+        private final Int2ObjectMap<Conversion> byTag = new Int2ObjectOpenHashMap<>();
+        private int size = 0;
+        
+        @Nullable
+        private synchronized EntryStack get(ItemStack stack) {
+            CompoundTag tag = stack.getTag();
+            for (Conversion conversion = byTag.get(Objects.hashCode(tag)); conversion != null; conversion = conversion.next) {
+                if (conversion.count == stack.getCount() && Objects.equals(conversion.tag, tag))
+                    return conversion.fluid;
+            }
+            return null;
+        }
+        
+        private synchronized void put(ItemStack stack, EntryStack fluid) {
+            if (size >= MAX_CONVERSIONS_PER_ITEM) {
+                byTag.clear();
+                size = 0;
+            }
+            CompoundTag tag = stack.getTag();
+            int hash = Objects.hashCode(tag);
+            byTag.put(hash, new Conversion(tag == null ? null : tag.copy(), stack.getCount(), fluid, byTag.get(hash)));
+            size++;
+        }
+    }
+    
+    private static class Conversion {
+        @Nullable
+        private final CompoundTag tag;
+        private final int count;
+        private final EntryStack fluid;
+        @Nullable
+        private final Conversion next;
+        
+        private Conversion(@Nullable CompoundTag tag, int count, EntryStack fluid, @Nullable Conversion next) {
+            this.tag = tag;
+            this.count = count;
+            this.fluid = fluid;
+            this.next = next;
+        }
+    }
 }
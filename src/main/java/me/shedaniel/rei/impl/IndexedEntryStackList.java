@@ -0,0 +1,295 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.shedaniel.rei.impl;
+
+import com.google.common.collect.Lists;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import me.shedaniel.rei.api.EntryStack;
+import me.shedaniel.rei.api.fluid.FluidSupportProvider;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.function.BiPredicate;
+
+/**
+ * Linked list of entries used while plugins are registering entries, every node is indexed by the
+ * {@link EntryStack#hashIgnoreAmount()} of its stack, so inserting after an anchor stack doesn't have to scan the list.
+ * <p>
+ * Index based access walks the list, the list is meant to be appended to, inserted into and iterated.
+ * <p>
+ * Every node also holds an order label that increases along the list, so the last match of an anchor is found
+ * from its bucket alone. Stacks must not be mutated once they are added, a node stays in the bucket of the hash its
+ * stack had when it was added.
+ */
+@ApiStatus.Internal
+public class IndexedEntryStackList extends AbstractSequentialList<EntryStack> {
+    private static final long ORDER_STEP = 1L << 16;
+    private static final long RELABEL_STEP = 1L << 24;
+    private final Node head = new Node(null, 0, 0);
+    private final Node tail = new Node(null, 0, Long.MAX_VALUE);
+    private final Int2ObjectMap<List<Node>> index = new Int2ObjectOpenHashMap<>();
+    private int size;
+    
+    public IndexedEntryStackList() {
+        head.next = tail;
+        tail.prev = head;
+    }
+    
+    private static int hash(EntryStack stack) {
+        if (stack.getType() == EntryStack.Type.ITEM) {
+            EntryStack fluid = ((FluidSupportProviderImpl) FluidSupportProvider.INSTANCE).getCachedFluid(stack);
+            if (!fluid.isEmpty())
+                return fluid.hashIgnoreAmount();
+        }
+        return stack.hashIgnoreAmount();
+    }
+    
+    /**
+     * Inserts the stacks after the last stack in this list matching the anchor, or at the end of the list if there are none.
+     *
+     * @param anchor  the stack to insert after, {@code null} to append
+     * @param matcher the predicate matching stacks of this list against the anchor
+     * @param stacks  the stacks to insert
+     */
+    public void addAllAfter(@Nullable EntryStack anchor, BiPredicate<EntryStack, EntryStack> matcher, Collection<? extends EntryStack> stacks) {
+        Node node = anchor == null ? null : findLast(anchor, matcher);
+        if (node == null)
+            node = tail.prev;
+        for (EntryStack stack : stacks) {
+            node = linkAfter(node, stack);
+        }
+    }
+    
+    @Nullable
+    private Node findLast(EntryStack anchor, BiPredicate<EntryStack, EntryStack> matcher) {
+        List<Node> bucket = index.get(hash(anchor));
+        if (bucket == null)
+            return null;
+        // The bucket is ordered by insertion, the match that comes last in the list has the greatest order.
+        Node found = null;
+        for (Node node : bucket) {
+            if ((found == null || node.order > found.order) && matcher.test(node.stack, anchor))
+                found = node;
+        }
+        return found;
+    }
+    
+    private Node linkAfter(Node node, EntryStack stack) {
+        if (node.next.order - node.order < 2)
+            relabel();
+        long order = node.order + Math.min(ORDER_STEP, (node.next.order - node.order) / 2);
+        int hash = hash(Objects.requireNonNull(stack));
+        Node newNode = new Node(stack, hash, order);
+        newNode.prev = node;
+        newNode.next = node.next;
+        node.next.prev = newNode;
+        node.next = newNode;
+        index.computeIfAbsent(hash, h -> Lists.newArrayListWithCapacity(1)).add(newNode);
+        size++;
+        modCount++;
+        return newNode;
+    }
+    
+    private void unlink(Node node) {
+        node.prev.next = node.next;
+        node.next.prev = node.prev;
+        unindex(node);
+        size--;
+        modCount++;
+    }
+    
+    /**
+     * Spreads the order labels evenly, once two adjacent nodes have run out of labels between them.
+     */
+    private void relabel() {
+        long order = head.order;
+        for (Node node = head.next; node != tail; node = node.next) {
+            order += RELABEL_STEP;
+            node.order = order;
+        }
+    }
+    
+    private void unindex(Node node) {
+        List<Node> bucket = index.get(node.hash);
+        if (bucket != null && bucket.remove(node) && bucket.isEmpty())
+            index.remove(node.hash);
+    }
+    
+    @Override
+    public boolean add(EntryStack stack) {
+        linkAfter(tail.prev, stack);
+        return true;
+    }
+    
+    @Override
+    public boolean addAll(Collection<? extends EntryStack> stacks) {
+        Node node = tail.prev;
+        for (EntryStack stack : stacks) {
+            node = linkAfter(node, stack);
+        }
+        return !stacks.isEmpty();
+    }
+    
+    @Override
+    public void clear() {
+        head.next = tail;
+        tail.prev = head;
+        index.clear();
+        size = 0;
+        modCount++;
+    }
+    
+    @Override
+    public int size() {
+        return size;
+    }
+    
+    @NotNull
+    @Override
+    public ListIterator<EntryStack> listIterator(int index) {
+        if (index < 0 || index > size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        return new NodeIterator(index);
+    }
+    
+    private static class Node {
+        private final EntryStack stack;
+        private final int hash;
+        private long order;
+        private Node prev;
+        private Node next;
+        
+        private Node(EntryStack stack, int hash, long order) {
+            this.stack = stack;
+            this.hash = hash;
+            this.order = order;
+        }
+    }
+    
+    private class NodeIterator implements ListIterator<EntryStack> {
+        private Node next;
+        private Node lastReturned;
+        private int nextIndex;
+        private int expectedModCount = modCount;
+        
+        private NodeIterator(int index) {
+            if (index <= size / 2) {
+                next = head.next;
+                for (int i = 0; i < index; i++)
+                    next = next.next;
+            } else {
+                next = tail;
+                for (int i = size; i > index; i--)
+                    next = next.prev;
+            }
+            nextIndex = index;
+        }
+        
+        private void checkForComodification() {
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+        }
+        
+        @Override
+        public boolean hasNext() {
+            return nextIndex < size;
+        }
+        
+        @Override
+        public EntryStack next() {
+            checkForComodification();
+            if (!hasNext())
+                throw new NoSuchElementException();
+            lastReturned = next;
+            next = next.next;
+            nextIndex++;
+            return lastReturned.stack;
+        }
+        
+        @Override
+        public boolean hasPrevious() {
+            return nextIndex > 0;
+        }
+        
+        @Override
+        public EntryStack previous() {
+            checkForComodification();
+            if (!hasPrevious())
+                throw new NoSuchElementException();
+            next = next.prev;
+            lastReturned = next;
+            nextIndex--;
+            return lastReturned.stack;
+        }
+        
+        @Override
+        public int nextIndex() {
+            return nextIndex;
+        }
+        
+        @Override
+        public int previousIndex() {
+            return nextIndex - 1;
+        }
+        
+        @Override
+        public void remove() {
+            checkForComodification();
+            if (lastReturned == null)
+                throw new IllegalStateException();
+            if (next == lastReturned)
+                next = lastReturned.next;
+            else
+                nextIndex--;
+            unlink(lastReturned);
+            lastReturned = null;
+            expectedModCount = modCount;
+        }
+        
+        @Override
+        public void set(EntryStack stack) {
+            checkForComodification();
+            if (lastReturned == null)
+                throw new IllegalStateException();
+            Node node = linkAfter(lastReturned.prev, stack);
+            if (next == lastReturned)
+                next = node;
+            unlink(lastReturned);
+            lastReturned = node;
+            expectedModCount = modCount;
+        }
+        
+        @Override
+        public void add(EntryStack stack) {
+            checkForComodification();
+            linkAfter(next.prev, stack);
+            nextIndex++;
+            lastReturned = null;
+            expectedModCount = modCount;
+        }
+    }
+}
@@ -44,6 +44,7 @@ import net.minecraft.text.Text;
 import net.minecraft.util.Formatting;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Collections;
 import java.util.List;
@@ -52,12 +53,15 @@ import java.util.function.Supplier;
 
 @ApiStatus.Internal
 public final class InternalWidgets {
+    private static final InventoryRevisionTracker TRANSFER_TRACKER = new InventoryRevisionTracker();
+    
     private InternalWidgets() {}
     
     public static Widget createAutoCraftingButtonWidget(Rectangle displayBounds, Rectangle rectangle, Text text, Supplier<RecipeDisplay> displaySupplier, List<Widget> setupDisplay, RecipeCategory<?> category) {
         ContainerScreen<?> containerScreen = REIHelper.getInstance().getPreviousContainerScreen();
         boolean[] visible = {false};
         List<String>[] errorTooltip = new List[]{null};
+        AutoTransferEvaluation[] evaluation = {null};
         Button autoCraftingButton = Widgets.createButton(rectangle, text)
                 .focusable(false)
                 .onClick(button -> {
@@ -74,56 +78,21 @@ public final class InternalWidgets {
                     ScreenHelper.getLastOverlay().init();
                 })
                 .onRender((matrices, button) -> {
-                    button.setEnabled(false);
-                    List<String> error = null;
-                    int color = 0;
-                    visible[0] = false;
-                    IntList redSlots = null;
-                    AutoTransferHandler.Context context = AutoTransferHandler.Context.create(false, containerScreen, displaySupplier.get());
-                    for (AutoTransferHandler autoTransferHandler : RecipeHelper.getInstance().getSortedAutoCraftingHandler()) {
-                        try {
-                            AutoTransferHandler.Result result = autoTransferHandler.handle(context);
-                            if (result.isApplicable())
-                                visible[0] = true;
-                            if (result.isSuccessful()) {
-                                button.setEnabled(true);
-                                error = null;
-                                color = 0;
-                                redSlots = null;
-                                break;
-                            } else if (result.isApplicable()) {
-                                if (error == null) {
-                                    error = Lists.newArrayList();
-                                }
-                                error.add(result.getErrorKey());
-                                color = result.getColor();
-                                if (result.getIntegers() != null && !result.getIntegers().isEmpty())
-                                    redSlots = result.getIntegers();
-                            }
-                        } catch (Exception e) {
-                            e.printStackTrace();
-                        }
+                    RecipeDisplay display = displaySupplier.get();
+                    MinecraftClient client = MinecraftClient.getInstance();
+                    if (client.player != null)
+                        TRANSFER_TRACKER.update(client.player.inventory, containerScreen == null ? null : containerScreen.getContainer());
+                    List<AutoTransferHandler> handlers = RecipeHelper.getInstance().getSortedAutoCraftingHandler();
+                    AutoTransferEvaluation current = evaluation[0];
+                    if (current == null || current.display != display || current.handlers != handlers || current.revision != TRANSFER_TRACKER.getRevision())
+                        evaluation[0] = current = evaluateAutoTransfer(containerScreen, display, handlers, TRANSFER_TRACKER.getRevision());
+                    visible[0] = current.visible;
+                    button.setEnabled(current.enabled);
+                    if ((button.containsMouse(PointHelper.ofMouse()) || button.isFocused()) && category instanceof TransferRecipeCategory && current.redSlots != null) {
+                        ((TransferRecipeCategory<RecipeDisplay>) category).renderRedSlots(matrices, setupDisplay, displayBounds, display, current.redSlots);
                     }
-                    if (!visible[0]) {
-                        button.setEnabled(false);
-                        if (error == null) {
-                            error = Lists.newArrayList();
-                        } else {
-                            error.clear();
-                        }
-                        error.add("error.rei.no.handlers.applicable");
-                    }
-                    if ((button.containsMouse(PointHelper.ofMouse()) || button.isFocused()) && category instanceof TransferRecipeCategory && redSlots != null) {
-                        ((TransferRecipeCategory<RecipeDisplay>) category).renderRedSlots(matrices, setupDisplay, displayBounds, displaySupplier.get(), redSlots);
-                    }
-                    errorTooltip[0] = error == null || error.isEmpty() ? null : Lists.newArrayList();
-                    if (errorTooltip[0] != null) {
-                        for (String s : error) {
-                            if (errorTooltip[0].stream().noneMatch(ss -> ss.equalsIgnoreCase(s)))
-                                errorTooltip[0].add(s);
-                        }
-                    }
-                    button.setTint(color);
+                    errorTooltip[0] = current.errorTooltip;
+                    button.setTint(current.color);
                 })
                 .textColor((button, mouse) -> {
                     if (!visible[0]) {
@@ -181,6 +150,52 @@ public final class InternalWidgets {
         };
     }
     
+    /**
+     * Runs the auto transfer handlers on a display, the craft buttons keep the evaluation until the display,
+     * the handlers, or the revision of the inventory and container change.
+     */
+    private static AutoTransferEvaluation evaluateAutoTransfer(ContainerScreen<?> containerScreen, RecipeDisplay display, List<AutoTransferHandler> handlers, int revision) {
+        AutoTransferEvaluation evaluation = new AutoTransferEvaluation(display, handlers, revision);
+        List<String> error = null;
+        AutoTransferHandler.Context context = AutoTransferHandler.Context.create(false, containerScreen, display);
+        for (AutoTransferHandler autoTransferHandler : handlers) {
+            try {
+                AutoTransferHandler.Result result = autoTransferHandler.handle(context);
+                if (result.isApplicable())
+                    evaluation.visible = true;
+                if (result.isSuccessful()) {
+                    evaluation.enabled = true;
+                    error = null;
+                    evaluation.color = 0;
+                    evaluation.redSlots = null;
+                    break;
+                } else if (result.isApplicable()) {
+                    if (error == null) {
+                        error = Lists.newArrayList();
+                    }
+                    error.add(result.getErrorKey());
+                    evaluation.color = result.getColor();
+                    if (result.getIntegers() != null && !result.getIntegers().isEmpty())
+                        evaluation.redSlots = result.getIntegers();
+                }
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        }
+        if (!evaluation.visible) {
+            evaluation.enabled = false;
+            error = Lists.newArrayList("error.rei.no.handlers.applicable");
+        }
+        if (error != null && !error.isEmpty()) {
+            evaluation.errorTooltip = Lists.newArrayList();
+            for (String s : error) {
+                if (evaluation.errorTooltip.stream().noneMatch(ss -> ss.equalsIgnoreCase(s)))
+                    evaluation.errorTooltip.add(s);
+            }
+        }
+        return evaluation;
+    }
+    
     public static WidgetWithBounds wrapLateRenderable(WidgetWithBounds widget) {
         return new LateRenderableWidgetWithBounds(widget);
     }
@@ -325,4 +340,23 @@ public final class InternalWidgets {
             return this.widget.mouseScrolled(mouseX, mouseY, amount);
         }
     }
+    
+    private static class AutoTransferEvaluation {
+        private final RecipeDisplay display;
+        private final List<AutoTransferHandler> handlers;
+        private final int revision;
+        private boolean visible = false;
+        private boolean enabled = false;
+        private int color = 0;
+        @Nullable
+        private IntList redSlots;
+        @Nullable
+        private List<String> errorTooltip;
+        
+        private AutoTransferEvaluation(RecipeDisplay display, List<AutoTransferHandler> handlers, int revision) {
+            this.display = display;
+            this.handlers = handlers;
+            this.revision = revision;
+        }
+    }
 }
@@ -0,0 +1,146 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.shedaniel.rei.impl;
+
+import com.google.common.collect.Lists;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import it.unimi.dsi.fastutil.ints.IntLists;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import me.shedaniel.rei.api.EntryStack;
+import me.shedaniel.rei.api.fluid.FluidSupportProvider;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * Counts the items of an inventory snapshot, so the slots of many displays can be checked against it without copying
+ * the inventory, like the {@code idToAmountMap} of {@link me.shedaniel.rei.server.RecipeFinder} on the server.
+ * <p>
+ * Stacks of the same item with equal tags are counted together as a variant, alternatives are matched against the
+ * variants with {@link EntryStack#equals(Object)}, so tag sensitive alternatives only match the variants with the
+ * same tags.
+ */
+@ApiStatus.Internal
+@Environment(EnvType.CLIENT)
+public class InventoryMatcher {
+    private final List<EntryStack> variants = Lists.newArrayList();
+    private final Reference2ObjectMap<Item, IntList> variantsByItem = new Reference2ObjectOpenHashMap<>();
+    private final int[] counts;
+    private final int[] remaining;
+    
+    public InventoryMatcher(List<ItemStack> inventory) {
+        IntList counts = new IntArrayList();
+        for (ItemStack stack : inventory) {
+            if (stack.isEmpty())
+                continue;
+            IntList itemVariants = variantsByItem.computeIfAbsent(stack.getItem(), item -> new IntArrayList());
+            int variant = -1;
+            for (int i = 0; i < itemVariants.size(); i++) {
+                if (ItemStack.areTagsEqual(variants.get(itemVariants.getInt(i)).getItemStack(), stack)) {
+                    variant = itemVariants.getInt(i);
+                    break;
+                }
+            }
+            if (variant == -1) {
+                variant = variants.size();
+                variants.add(EntryStack.create(stack.copy()));
+                itemVariants.add(variant);
+                counts.add(0);
+            }
+            counts.set(variant, counts.getInt(variant) + stack.getCount());
+        }
+        this.counts = counts.toIntArray();
+        this.remaining = new int[this.counts.length];
+    }
+    
+    /**
+     * Finds the input slots the inventory can't fill, each slot takes the items of the first alternative the
+     * inventory has enough of, and these items are not available to the following slots.
+     *
+     * @param inputs the alternatives of each input slot
+     * @return the indices of the slots that can't be filled
+     */
+    public IntList getMissingSlots(List<List<EntryStack>> inputs) {
+        System.arraycopy(counts, 0, remaining, 0, counts.length);
+        IntList missing = new IntArrayList();
+        for (int i = 0; i < inputs.size(); i++) {
+            List<EntryStack> possibleStacks = inputs.get(i);
+            boolean done = possibleStacks.isEmpty();
+            for (EntryStack possibleStack : possibleStacks) {
+                if (take(possibleStack)) {
+                    done = true;
+                    break;
+                }
+            }
+            if (!done)
+                missing.add(i);
+        }
+        return missing;
+    }
+    
+    private boolean take(EntryStack possibleStack) {
+        int required = possibleStack.getAmount();
+        if (required <= 0)
+            return true;
+        IntList candidates = getCandidates(possibleStack);
+        int size = candidates == null ? variants.size() : candidates.size();
+        int available = 0;
+        for (int j = 0; j < size && available < required; j++) {
+            int variant = candidates == null ? j : candidates.getInt(j);
+            if (remaining[variant] > 0 && variants.get(variant).equals(possibleStack))
+                available += remaining[variant];
+        }
+        if (available < required)
+            return false;
+        for (int j = 0; j < size && required > 0; j++) {
+            int variant = candidates == null ? j : candidates.getInt(j);
+            if (remaining[variant] > 0 && variants.get(variant).equals(possibleStack)) {
+                int taken = Math.min(required, remaining[variant]);
+                remaining[variant] -= taken;
+                required -= taken;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * @return the variants that could match the stack, or {@code null} if any variant could
+     */
+    @Nullable
+    private IntList getCandidates(EntryStack possibleStack) {
+        if (possibleStack.getType() != EntryStack.Type.ITEM)
+            return null;
+        // Items holding fluids are compared by their fluids, and may match a different item
+        if (!((FluidSupportProviderImpl) FluidSupportProvider.INSTANCE).getCachedFluid(possibleStack).isEmpty())
+            return null;
+        IntList candidates = variantsByItem.get(possibleStack.getItem());
+        return candidates == null ? IntLists.EMPTY_LIST : candidates;
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.shedaniel.rei.impl;
+
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.minecraft.container.Container;
+import net.minecraft.entity.player.PlayerInventory;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.util.collection.DefaultedList;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Tracks the revision of the player inventory, and optionally of the slots of a container, so callers can check
+ * whether it has changed without copying and comparing the stacks every frame.
+ * <p>
+ * Each slot remembers the stack instance, item, count and tag it last saw, the inventory change counter is checked
+ * as well to catch changes made to a tag in place.
+ */
+@ApiStatus.Internal
+@Environment(EnvType.CLIENT)
+public class InventoryRevisionTracker {
+    private PlayerInventory inventory;
+    @Nullable
+    private Container container;
+    private int changeCount;
+    private ItemStack[] stacks = new ItemStack[0];
+    private Item[] items = new Item[0];
+    private int[] counts = new int[0];
+    private CompoundTag[] tags = new CompoundTag[0];
+    private int revision;
+    
+    public int getRevision() {
+        return revision;
+    }
+    
+    /**
+     * Checks the inventory against the last seen state, bumping the revision if anything has changed.
+     *
+     * @param inventory the inventory to check
+     * @return whether the inventory has changed since the last call
+     */
+    public boolean update(PlayerInventory inventory) {
+        return update(inventory, null);
+    }
+    
+    /**
+     * Checks the inventory and the slots of the container against the last seen state, bumping the revision if anything has changed.
+     *
+     * @param inventory the inventory to check
+     * @param container the container to check, or {@code null} to only check the inventory
+     * @return whether the inventory or the container has changed since the last call
+     */
+    public boolean update(PlayerInventory inventory, @Nullable Container container) {
+        int inventorySize = inventory.main.size() + inventory.armor.size() + inventory.offHand.size();
+        int size = inventorySize + (container == null ? 0 : container.slots.size());
+        boolean changed = this.inventory != inventory || this.container != container || changeCount != inventory.getChangeCount();
+        if (stacks.length != size) {
+            stacks = new ItemStack[size];
+            items = new Item[size];
+            counts = new int[size];
+            tags = new CompoundTag[size];
+            changed = true;
+        }
+        this.inventory = inventory;
+        this.container = container;
+        this.changeCount = inventory.getChangeCount();
+        changed |= updateSlots(inventory.main, 0);
+        changed |= updateSlots(inventory.armor, inventory.main.size());
+        changed |= updateSlots(inventory.offHand, inventory.main.size() + inventory.armor.size());
+        if (container != null) {
+            for (int i = 0; i < container.slots.size(); i++)
+                changed |= updateSlot(inventorySize + i, container.slots.get(i).getStack());
+        }
+        if (changed)
+            revision++;
+        return changed;
+    }
+    
+    private boolean updateSlots(DefaultedList<ItemStack> list, int offset) {
+        boolean changed = false;
+        for (int i = 0; i < list.size(); i++)
+            changed |= updateSlot(offset + i, list.get(i));
+        return changed;
+    }
+    
+    private boolean updateSlot(int slot, ItemStack stack) {
+        if (stacks[slot] != stack || items[slot] != stack.getItem() || counts[slot] != stack.getCount() || tags[slot] != stack.getTag()) {
+            stacks[slot] = stack;
+            items[slot] = stack.getItem();
+            counts[slot] = stack.getCount();
+            tags[slot] = stack.getTag();
+            return true;
+        }
+        return false;
+    }
+}
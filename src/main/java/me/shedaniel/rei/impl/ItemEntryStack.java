@@ -28,6 +28,7 @@ import com.mojang.blaze3d.platform.GlStateManager;
 import me.shedaniel.math.Point;
 import me.shedaniel.math.Rectangle;
 import me.shedaniel.rei.api.*;
+import me.shedaniel.rei.api.fluid.FluidSupportProvider;
 import me.shedaniel.rei.api.widgets.Tooltip;
 import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.item.TooltipContext;
@@ -38,7 +39,6 @@ import net.minecraft.client.render.model.BakedModel;
 import net.minecraft.client.render.model.json.ModelTransformation;
 import net.minecraft.client.texture.SpriteAtlasTexture;
 import net.minecraft.client.util.math.MatrixStack;
-import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.ListTag;
@@ -47,6 +47,7 @@ import net.minecraft.text.LiteralText;
 import net.minecraft.text.Text;
 import net.minecraft.text.TranslatableText;
 import net.minecraft.util.Identifier;
+import net.minecraft.util.Util;
 import net.minecraft.util.math.MathHelper;
 import net.minecraft.util.registry.Registry;
 import org.jetbrains.annotations.ApiStatus;
@@ -123,10 +124,11 @@ public class ItemEntryStack extends AbstractEntryStack implements OptimalEntrySt
      * 3: all
      */
     private Boolean compareIfFluid(EntryStack stack, int type) {
-        EntryStack fluid = EntryStack.copyItemToFluid(this);
+        FluidSupportProviderImpl fluidSupport = (FluidSupportProviderImpl) FluidSupportProvider.INSTANCE;
+        EntryStack fluid = fluidSupport.getCachedFluid(this);
         if (fluid.isEmpty()) return null;
         if (stack.getType() == Type.ITEM)
-            stack = EntryStack.copyItemToFluid(stack);
+            stack = fluidSupport.getCachedFluid(stack);
         if (stack.isEmpty()) return null;
         switch (type) {
             case 0:
@@ -277,7 +279,8 @@ public class ItemEntryStack extends AbstractEntryStack implements OptimalEntrySt
     public Tooltip getTooltip(Point point) {
         if (isEmpty() || !get(Settings.TOOLTIP_ENABLED).get())
             return null;
-        List<Text> toolTip = tryGetItemStackToolTip(true);
+        boolean advanced = MinecraftClient.getInstance().options.advancedItemTooltips;
+        List<Text> toolTip = tryGetItemStackToolTip(advanced);
         toolTip.addAll(get(Settings.TOOLTIP_APPEND_EXTRA).apply(this));
         if (get(Settings.TOOLTIP_APPEND_MOD).get() && ConfigObject.getInstance().shouldAppendModNames()) {
             final String modId = ClientHelper.getInstance().getModFromItem(getItem());
@@ -349,17 +352,22 @@ public class ItemEntryStack extends AbstractEntryStack implements OptimalEntrySt
         }
     }
     
-    private static final List<Item> SEARCH_BLACKLISTED = Lists.newArrayList();
-    
     @Override
     public @NotNull Text asFormattedText() {
-        if (!SEARCH_BLACKLISTED.contains(getItem()))
+        return EntryTooltipCache.getName(this, this::computeFormattedText);
+    }
+    
+    private Text computeFormattedText() {
+        if (!BadItemRegistry.isBlacklisted(getItem())) {
+            long start = Util.getMeasuringTimeNano();
             try {
                 return getItemStack().getName();
             } catch (Throwable e) {
-                e.printStackTrace();
-                SEARCH_BLACKLISTED.add(getItem());
+                BadItemRegistry.reportFailure(getItem(), "name", e);
+            } finally {
+                BadItemRegistry.reportCall(getItem(), "name", start);
             }
+        }
         try {
             return new TranslatableText("item." + Registry.ITEM.getId(getItem()).toString().replace(":", "."));
         } catch (Throwable e) {
@@ -368,14 +376,17 @@ public class ItemEntryStack extends AbstractEntryStack implements OptimalEntrySt
         return new LiteralText("ERROR");
     }
     
-    private List<Text> tryGetItemStackToolTip(boolean careAboutAdvanced) {
-        if (!SEARCH_BLACKLISTED.contains(getItem()))
+    private List<Text> tryGetItemStackToolTip(boolean advanced) {
+        if (!BadItemRegistry.isBlacklisted(getItem())) {
+            long start = Util.getMeasuringTimeNano();
             try {
-                return itemStack.getTooltip(MinecraftClient.getInstance().player, MinecraftClient.getInstance().options.advancedItemTooltips && careAboutAdvanced ? TooltipContext.Default.ADVANCED : TooltipContext.Default.NORMAL);
+                return itemStack.getTooltip(MinecraftClient.getInstance().player, advanced ? TooltipContext.Default.ADVANCED : TooltipContext.Default.NORMAL);
             } catch (Throwable e) {
-                e.printStackTrace();
-                SEARCH_BLACKLISTED.add(getItem());
+                BadItemRegistry.reportFailure(getItem(), "tooltip", e);
+            } finally {
+                BadItemRegistry.reportCall(getItem(), "tooltip", start);
             }
+        }
         return Lists.newArrayList(asFormattedText());
     }
 }
@@ -0,0 +1,120 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.shedaniel.rei.impl;
+
+import me.shedaniel.rei.api.EntryStack;
+import net.minecraft.item.ItemStack;
+import org.jetbrains.annotations.ApiStatus;
+
+import java.util.Map;
+
+/**
+ * Read-only view of a registered {@link ItemEntryStack} used for displaying it in the entry lists,
+ * it shares the {@link ItemStack} of the registered stack instead of copying its tag.
+ * <p>
+ * Settings are looked up in the given display settings first, then in the registered stack.
+ * Any attempt of mutating the view throws, call {@link #copy()} to get a mutable stack.
+ */
+@ApiStatus.Internal
+public class ItemEntryStackView extends ItemEntryStack {
+    private final EntryStack stack;
+    private final Map<Settings<?>, Object> displaySettings;
+    
+    private ItemEntryStackView(ItemEntryStack stack, Map<Settings<?>, Object> displaySettings) {
+        super(stack.getItemStack());
+        this.stack = stack;
+        this.displaySettings = displaySettings;
+    }
+    
+    /**
+     * Creates a stack for displaying the given registered stack with the display settings applied,
+     * item stacks are wrapped in a view and any other stack is copied.
+     *
+     * @param stack           the registered stack
+     * @param displaySettings the settings to apply, must not be mutated afterwards
+     * @return the stack to display
+     */
+    @SuppressWarnings("unchecked")
+    public static EntryStack of(EntryStack stack, Map<Settings<?>, Object> displaySettings) {
+        if (stack instanceof ItemEntryStackView)
+            return new ItemEntryStackView((ItemEntryStack) ((ItemEntryStackView) stack).stack, displaySettings);
+        if (stack.getClass() == ItemEntryStack.class)
+            return new ItemEntryStackView((ItemEntryStack) stack, displaySettings);
+        EntryStack copy = stack.copy();
+        for (Map.Entry<Settings<?>, Object> entry : displaySettings.entrySet()) {
+            copy.setting((Settings<? super Object>) entry.getKey(), entry.getValue());
+        }
+        return copy;
+    }
+    
+    /**
+     * @return the registered stack displayed by this view
+     */
+    public EntryStack getBackingStack() {
+        return stack;
+    }
+    
+    @Override
+    public <T> T get(Settings<T> settings) {
+        Object o = displaySettings.get(settings);
+        if (o == null)
+            return stack.get(settings);
+        return (T) o;
+    }
+    
+    @Override
+    public <T> EntryStack setting(Settings<T> settings, T value) {
+        throw new UnsupportedOperationException("Entry stack views are read-only!");
+    }
+    
+    @Override
+    public <T> EntryStack removeSetting(Settings<T> settings) {
+        throw new UnsupportedOperationException("Entry stack views are read-only!");
+    }
+    
+    @Override
+    public EntryStack clearSettings() {
+        throw new UnsupportedOperationException("Entry stack views are read-only!");
+    }
+    
+    @Override
+    public void setAmount(int amount) {
+        throw new UnsupportedOperationException("Entry stack views are read-only!");
+    }
+    
+    @Override
+    public void setFloatingAmount(double amount) {
+        throw new UnsupportedOperationException("Entry stack views are read-only!");
+    }
+    
+    @SuppressWarnings("unchecked")
+    @Override
+    public EntryStack copy() {
+        EntryStack copy = stack.copy();
+        for (Map.Entry<Settings<?>, Object> entry : displaySettings.entrySet()) {
+            copy.setting((Settings<? super Object>) entry.getKey(), entry.getValue());
+        }
+        return copy;
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.shedaniel.rei.impl;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import me.shedaniel.rei.RoughlyEnoughItemsCore;
+import me.shedaniel.rei.api.ConfigObject;
+import me.shedaniel.rei.api.EntryStack;
+import me.shedaniel.rei.api.RecipeDisplay;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.Util;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Inverted index from the identity of an entry (its item or fluid) to the displays that output or take it as an input.
+ * <p>
+ * The index only narrows down candidates, callers are still expected to run the exact {@link EntryStack#equals(Object)}
+ * check on the displays returned, which takes care of tags and amounts.
+ */
+@ApiStatus.Internal
+@Environment(EnvType.CLIENT)
+public class RecipeDisplayIndex {
+    private static final Object EMPTY_KEY = EntryStack.Type.EMPTY;
+    private final Map<Identifier, CategoryIndex> categories = Maps.newHashMap();
+    private boolean dirty = true;
+    
+    public void markDirty() {
+        this.dirty = true;
+    }
+    
+    public boolean isDirty() {
+        return dirty;
+    }
+    
+    public void build(Map<Identifier, List<RecipeDisplay>> recipeCategoryListMap) {
+        long start = Util.getMeasuringTimeNano();
+        int displays = 0;
+        categories.clear();
+        for (Map.Entry<Identifier, List<RecipeDisplay>> entry : recipeCategoryListMap.entrySet()) {
+            CategoryIndex index = new CategoryIndex(Lists.newArrayList(entry.getValue()));
+            categories.put(entry.getKey(), index);
+            displays += index.displays.size();
+        }
+        dirty = false;
+        long end = Util.getMeasuringTimeNano();
+        String message = String.format("Built Recipe Display Index in %dμs for %d categories and %d displays.", (end - start) / 1000, categories.size(), displays);
+        if (ConfigObject.getInstance().doDebugSearchTimeRequired()) {
+            RoughlyEnoughItemsCore.LOGGER.info(message);
+        } else {
+            RoughlyEnoughItemsCore.LOGGER.trace(message);
+        }
+    }
+    
+    @Nullable
+    public CategoryIndex get(Identifier category) {
+        return categories.get(category);
+    }
+    
+    /**
+     * Collects the keys an entry is indexed under, an item is also indexed under the fluid it holds,
+     * since {@link ItemEntryStack} and {@link FluidEntryStack} compare equal through {@link me.shedaniel.rei.api.fluid.FluidSupportProvider}.
+     *
+     * @return whether the entry can be indexed at all
+     */
+    private static boolean collectKeys(EntryStack stack, List<Object> keys) {
+        switch (stack.getType()) {
+            case ITEM:
+                keys.add(stack.getItem());
+                if (!stack.isEmpty()) {
+                    EntryStack fluid = EntryStack.copyItemToFluid(stack);
+                    if (!fluid.isEmpty() && fluid.getType() == EntryStack.Type.FLUID)
+                        keys.add(fluid.getFluid());
+                }
+                return true;
+            case FLUID:
+                keys.add(stack.getFluid());
+                return true;
+            case EMPTY:
+                keys.add(EMPTY_KEY);
+                return true;
+            default:
+                return false;
+        }
+    }
+    
+    private static void put(Map<Object, IntList> map, Object key, int index) {
+        IntList list = map.computeIfAbsent(key, k -> new IntArrayList());
+        if (list.isEmpty() || list.getInt(list.size() - 1) != index)
+            list.add(index);
+    }
+    
+    @ApiStatus.Internal
+    @Environment(EnvType.CLIENT)
+    public static class CategoryIndex {
+        private final List<RecipeDisplay> displays;
+        private final Map<Object, IntList> outputs = Maps.newHashMap();
+        private final Map<Object, IntList> inputs = Maps.newHashMap();
+        private final BitSet unindexedOutputs = new BitSet();
+        private final BitSet unindexedInputs = new BitSet();
+        
+        private CategoryIndex(List<RecipeDisplay> displays) {
+            this.displays = displays;
+            List<Object> keys = Lists.newArrayList();
+            for (int i = 0; i < displays.size(); i++) {
+                RecipeDisplay display = displays.get(i);
+                try {
+                    for (EntryStack stack : display.getOutputEntries()) {
+                        keys.clear();
+                        if (collectKeys(stack, keys)) {
+                            for (Object key : keys)
+                                put(outputs, key, i);
+                        } else unindexedOutputs.set(i);
+                    }
+                    for (List<EntryStack> slot : display.getInputEntries()) {
+                        for (EntryStack stack : slot) {
+                            keys.clear();
+                            if (collectKeys(stack, keys)) {
+                                for (Object key : keys)
+                                    put(inputs, key, i);
+                            } else unindexedInputs.set(i);
+                        }
+                    }
+                } catch (Throwable throwable) {
+                    RoughlyEnoughItemsCore.LOGGER.error("Failed to index recipe display " + display.getClass().getName() + "!", throwable);
+                    unindexedOutputs.set(i);
+                    unindexedInputs.set(i);
+                }
+            }
+        }
+        
+        public List<RecipeDisplay> getDisplays() {
+            return Collections.unmodifiableList(displays);
+        }
+        
+        public RecipeDisplay getDisplay(int index) {
+            return displays.get(index);
+        }
+        
+        public void collectRecipesFor(List<EntryStack> stacks, BitSet candidates) {
+            collect(outputs, unindexedOutputs, stacks, candidates);
+        }
+        
+        public void collectUsagesFor(List<EntryStack> stacks, BitSet candidates) {
+            collect(inputs, unindexedInputs, stacks, candidates);
+        }
+        
+        private void collect(Map<Object, IntList> map, BitSet unindexed, List<EntryStack> stacks, BitSet candidates) {
+            if (stacks.isEmpty())
+                return;
+            candidates.or(unindexed);
+            List<Object> keys = Lists.newArrayList();
+            for (EntryStack stack : stacks) {
+                keys.clear();
+                if (!collectKeys(stack, keys)) {
+                    candidates.set(0, displays.size());
+                    return;
+                }
+                for (Object key : keys) {
+                    IntList list = map.get(key);
+                    if (list != null) {
+                        for (int i = 0; i < list.size(); i++)
+                            candidates.set(list.getInt(i));
+                    }
+                }
+            }
+        }
+    }
+}
@@ -36,25 +36,33 @@ import me.shedaniel.rei.impl.subsets.SubsetsRegistryImpl;
 import me.shedaniel.rei.utils.CollectionUtils;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
+import net.fabricmc.loader.api.FabricLoader;
 import net.minecraft.client.gui.screen.ingame.ContainerScreen;
+import net.minecraft.item.ItemStack;
 import net.minecraft.recipe.Recipe;
 import net.minecraft.recipe.RecipeManager;
 import net.minecraft.util.ActionResult;
 import net.minecraft.util.Identifier;
 import net.minecraft.util.Util;
 import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
 
+import java.io.File;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @ApiStatus.Internal
 @Environment(EnvType.CLIENT)
 public class RecipeHelperImpl implements RecipeHelper {
     
     private static final Comparator<DisplayVisibilityHandler> VISIBILITY_HANDLER_COMPARATOR;
+    private static final Comparator<AutoTransferHandler> AUTO_TRANSFER_HANDLER_COMPARATOR = Comparator.comparingDouble(AutoTransferHandler::getPriority).reversed();
     @SuppressWarnings("rawtypes")
     private static final Comparator<Recipe> RECIPE_COMPARATOR = Comparator.comparing((Recipe o) -> o.getId().getNamespace()).thenComparing(o -> o.getId().getPath());
     
@@ -64,6 +72,7 @@ public class RecipeHelperImpl implements RecipeHelper {
     }
     
     private final List<AutoTransferHandler> autoTransferHandlers = Lists.newLinkedList();
+    private volatile List<AutoTransferHandler> sortedAutoTransferHandlers = Collections.emptyList();
     private final List<RecipeFunction> recipeFunctions = Lists.newLinkedList();
     private final List<ScreenClickArea> screenClickAreas = Lists.newLinkedList();
     private final int[] recipeCount = {0};
@@ -74,11 +83,54 @@ public class RecipeHelperImpl implements RecipeHelper {
     private final Map<Identifier, List<List<EntryStack>>> categoryWorkingStations = Maps.newLinkedHashMap();
     private final List<DisplayVisibilityHandler> displayVisibilityHandlers = Lists.newLinkedList();
     private final List<LiveRecipeGenerator<RecipeDisplay>> liveRecipeGenerators = Lists.newLinkedList();
+    private final RecipeDisplayIndex displayIndex = new RecipeDisplayIndex();
+    private final CraftableEntriesIndex craftableIndex = new CraftableEntriesIndex();
+    private final ReloadCache reloadCache = new ReloadCache(new File(FabricLoader.getInstance().getConfigDirectory(), "roughlyenoughitems/reload_cache.bin"));
+    private List<ItemStack> lastCraftableInventory;
+    private EntryStackSet lastCraftables;
+    private final ThreadLocal<DisplayBuffer> displayBuffer = new ThreadLocal<>();
+    private boolean threadSafeDisplayRegistration = false;
     private RecipeManager recipeManager;
     private boolean arePluginsLoading = false;
+    @Nullable
+    private ReloadProfile lastReloadProfile;
+    
+    private void markDisplaysDirty() {
+        displayIndex.markDirty();
+        craftableIndex.markDirty();
+        lastCraftableInventory = null;
+        lastCraftables = null;
+    }
     
     @Override
     public List<EntryStack> findCraftableEntriesByItems(List<EntryStack> inventoryItems) {
+        if (arePluginsLoading)
+            return findCraftableEntriesByItemsUnindexed(inventoryItems);
+        if (craftableIndex.isDirty())
+            craftableIndex.build(recipeCategoryListMap);
+        return Lists.newArrayList(craftableIndex.findCraftableEntries(inventoryItems));
+    }
+    
+    /**
+     * Finds the craftable entries of an inventory snapshot, the result is shared until the snapshot or the displays change.
+     *
+     * @param inventory the inventory snapshot, compared by identity
+     * @return the craftable entries
+     */
+    @ApiStatus.Internal
+    public Set<EntryStack> findCraftableEntriesByInventory(List<ItemStack> inventory) {
+        EntryStackSet craftables = lastCraftables;
+        if (craftables != null && lastCraftableInventory == inventory)
+            return craftables;
+        craftables = new EntryStackSet(findCraftableEntriesByItems(CollectionUtils.map(inventory, EntryStack::create)));
+        if (!arePluginsLoading) {
+            lastCraftableInventory = inventory;
+            lastCraftables = craftables;
+        }
+        return craftables;
+    }
+    
+    private List<EntryStack> findCraftableEntriesByItemsUnindexed(List<EntryStack> inventoryItems) {
         List<EntryStack> craftables = new ArrayList<>();
         for (List<RecipeDisplay> value : recipeCategoryListMap.values())
             for (RecipeDisplay recipeDisplay : Lists.newArrayList(value)) {
@@ -109,22 +161,34 @@ public class RecipeHelperImpl implements RecipeHelper {
         return arePluginsLoading;
     }
     
+    @Override
+    public Optional<ReloadProfile> getLastReloadProfile() {
+        return Optional.ofNullable(lastReloadProfile);
+    }
+    
     @Override
     public void registerCategory(RecipeCategory<?> category) {
+        if (defer(() -> registerCategory(category)))
+            return;
         categories.put(category, category.getIdentifier());
         reversedCategories.put(category.getIdentifier(), category);
         recipeCategoryListMap.put(category.getIdentifier(), Lists.newArrayList());
+        markDisplaysDirty();
         categoryWorkingStations.put(category.getIdentifier(), Lists.newArrayList());
     }
     
     @SafeVarargs
     @Override
     public final void registerWorkingStations(Identifier category, List<EntryStack>... workingStations) {
+        if (defer(() -> registerWorkingStations(category, workingStations)))
+            return;
         categoryWorkingStations.get(category).addAll(Arrays.asList(workingStations));
     }
     
     @Override
     public void registerWorkingStations(Identifier category, EntryStack... workingStations) {
+        if (defer(() -> registerWorkingStations(category, workingStations)))
+            return;
         categoryWorkingStations.get(category).addAll(Arrays.stream(workingStations).map(Collections::singletonList).collect(Collectors.toList()));
     }
     
@@ -136,26 +200,25 @@ public class RecipeHelperImpl implements RecipeHelper {
     @Deprecated
     @Override
     public void registerDisplay(Identifier categoryIdentifier, RecipeDisplay display) {
+        if (deferDisplay(() -> registerDisplay(categoryIdentifier, display)))
+            return;
         if (!recipeCategoryListMap.containsKey(categoryIdentifier))
             return;
         recipeCount[0]++;
         recipeCategoryListMap.get(categoryIdentifier).add(display);
+        markDisplaysDirty();
     }
     
     @Override
     public void registerDisplay(RecipeDisplay display) {
         Identifier identifier = Objects.requireNonNull(display.getRecipeCategory());
+        if (deferDisplay(() -> registerDisplay(display)))
+            return;
         if (!recipeCategoryListMap.containsKey(identifier))
             return;
         recipeCount[0]++;
         recipeCategoryListMap.get(identifier).add(display);
-    }
-    
-    private void registerDisplay(Identifier categoryIdentifier, RecipeDisplay display, int index) {
-        if (!recipeCategoryListMap.containsKey(categoryIdentifier))
-            return;
-        recipeCount[0]++;
-        recipeCategoryListMap.get(categoryIdentifier).add(index, display);
+        markDisplaysDirty();
     }
     
     @Override
@@ -165,15 +228,17 @@ public class RecipeHelperImpl implements RecipeHelper {
         List<EntryStack> recipesFor = builder.getRecipesFor();
         List<EntryStack> usagesFor = builder.getUsagesFor();
         
+        if (displayIndex.isDirty())
+            displayIndex.build(recipeCategoryListMap);
+        
         Map<RecipeCategory<?>, List<RecipeDisplay>> result = Maps.newLinkedHashMap();
         for (Map.Entry<RecipeCategory<?>, Identifier> entry : this.categories.entrySet()) {
             RecipeCategory<?> category = entry.getKey();
             Identifier categoryId = entry.getValue();
-            List<RecipeDisplay> allRecipesFromCategory = getAllRecipesFromCategory(category);
             
             Set<RecipeDisplay> set = Sets.newLinkedHashSet();
             if (categories.contains(categoryId)) {
-                for (RecipeDisplay display : allRecipesFromCategory) {
+                for (RecipeDisplay display : recipeCategoryListMap.get(categoryId)) {
                     if (isDisplayVisible(display)) {
                         set.add(display);
                     }
@@ -183,36 +248,21 @@ public class RecipeHelperImpl implements RecipeHelper {
                 }
                 continue;
             }
-            for (RecipeDisplay display : allRecipesFromCategory) {
-                if (!isDisplayVisible(display)) continue;
-                if (!recipesFor.isEmpty()) {
-                    label:
-                    for (EntryStack outputStack : display.getOutputEntries()) {
-                        for (EntryStack stack : recipesFor) {
-                            if (stack.equals(outputStack)) {
-                                set.add(display);
-                                break label;
-                            }
-                        }
-                    }
-                }
-                if (!usagesFor.isEmpty()) {
-                    back:
-                    for (List<EntryStack> input : display.getInputEntries()) {
-                        for (EntryStack otherEntry : input) {
-                            for (EntryStack stack : usagesFor) {
-                                if (otherEntry.equals(stack)) {
-                                    set.add(display);
-                                    break back;
-                                }
-                            }
-                        }
-                    }
+            RecipeDisplayIndex.CategoryIndex index = displayIndex.get(categoryId);
+            if (index != null) {
+                BitSet candidates = new BitSet();
+                index.collectRecipesFor(recipesFor, candidates);
+                index.collectUsagesFor(usagesFor, candidates);
+                for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+                    RecipeDisplay display = index.getDisplay(i);
+                    if (!isDisplayVisible(display)) continue;
+                    if (isRecipeFor(display, recipesFor) || isUsageFor(display, usagesFor))
+                        set.add(display);
                 }
             }
             for (EntryStack stack : usagesFor) {
                 if (isStackWorkStationOfCategory(categoryId, stack)) {
-                    set.addAll(allRecipesFromCategory);
+                    set.addAll(recipeCategoryListMap.get(categoryId));
                     break;
                 }
             }
@@ -264,6 +314,34 @@ public class RecipeHelperImpl implements RecipeHelper {
         return result;
     }
     
+    private static boolean isRecipeFor(RecipeDisplay display, List<EntryStack> recipesFor) {
+        if (recipesFor.isEmpty())
+            return false;
+        for (EntryStack outputStack : display.getOutputEntries()) {
+            for (EntryStack stack : recipesFor) {
+                if (stack.equals(outputStack)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+    
+    private static boolean isUsageFor(RecipeDisplay display, List<EntryStack> usagesFor) {
+        if (usagesFor.isEmpty())
+            return false;
+        for (List<EntryStack> input : display.getInputEntries()) {
+            for (EntryStack otherEntry : input) {
+                for (EntryStack stack : usagesFor) {
+                    if (otherEntry.equals(stack)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+    
     @Override
     public Map<RecipeCategory<?>, List<RecipeDisplay>> getRecipesFor(EntryStack stack) {
         return buildMapFor(ClientHelper.ViewSearchBuilder.builder().addRecipesFor(stack));
@@ -308,51 +386,150 @@ public class RecipeHelperImpl implements RecipeHelper {
     
     @Override
     public void registerAutoCraftButtonArea(Identifier category, ButtonAreaSupplier rectangle) {
+        if (defer(() -> registerAutoCraftButtonArea(category, rectangle)))
+            return;
         if (rectangle == null) {
             autoCraftAreaSupplierMap.remove(category);
         } else
             autoCraftAreaSupplierMap.put(category, rectangle);
     }
     
-    private void startSection(Object[] sectionData, String section) {
-        sectionData[0] = Util.getMeasuringTimeNano();
-        sectionData[2] = section;
-        RoughlyEnoughItemsCore.LOGGER.debug("Reloading Section: \"%s\"", section);
-    }
-    
-    private void endSection(Object[] sectionData) {
-        sectionData[1] = Util.getMeasuringTimeNano();
-        long time = (long) sectionData[1] - (long) sectionData[0];
-        String section = (String) sectionData[2];
-        if (time >= 1000000) {
-            RoughlyEnoughItemsCore.LOGGER.debug("Reloading Section: \"%s\" done in %.2fms", section, time / 1000000.0F);
-        } else {
-            RoughlyEnoughItemsCore.LOGGER.debug("Reloading Section: \"%s\" done in %.2fμs", section, time / 1000.0F);
-        }
-    }
-    
-    private void pluginSection(Object[] sectionData, String sectionName, List<REIPluginV0> list, Consumer<REIPluginV0> consumer) {
+    private void pluginSection(ReloadProfiler profiler, String sectionName, List<REIPluginV0> list, Consumer<REIPluginV0> consumer) {
         for (REIPluginV0 plugin : list) {
             try {
-                startSection(sectionData, sectionName + " for " + plugin.getPluginIdentifier().toString());
+                profiler.startSection(sectionName, plugin.getPluginIdentifier());
                 consumer.accept(plugin);
-                endSection(sectionData);
             } catch (Throwable e) {
                 RoughlyEnoughItemsCore.LOGGER.error(plugin.getPluginIdentifier().toString() + " plugin failed to " + sectionName + "!", e);
+            } finally {
+                profiler.endSection();
+            }
+        }
+    }
+    
+    /**
+     * Runs {@link REIPluginV0#registerRecipeDisplays(RecipeHelper)} for every plugin. If parallel registration is enabled,
+     * plugins that declare it as thread safe run concurrently into their own buffers, which are then merged in the plugin order,
+     * so the registered displays are the same as registering them one plugin after another.
+     */
+    private void registerRecipeDisplays(ReloadProfiler profiler, List<REIPluginV0> plugins) {
+        if (!ConfigObject.getInstance().doesRegisterRecipesInParallel()) {
+            for (REIPluginV0 plugin : plugins)
+                registerRecipeDisplays(profiler, plugin);
+            return;
+        }
+        Map<REIPluginV0, CompletableFuture<DisplayBuffer>> buffers = Maps.newIdentityHashMap();
+        for (REIPluginV0 plugin : plugins) {
+            if (plugin.isRecipeDisplayRegistrationThreadSafe()) {
+                buffers.put(plugin, CompletableFuture.supplyAsync(() -> {
+                    DisplayBuffer buffer = new DisplayBuffer();
+                    displayBuffer.set(buffer);
+                    try {
+                        pluginSection(profiler.fork(() -> buffer.displays), "register-displays", Collections.singletonList(plugin), p -> p.registerRecipeDisplays(this));
+                    } finally {
+                        displayBuffer.remove();
+                    }
+                    return buffer;
+                }));
+            }
+        }
+        CompletableFuture.allOf(buffers.values().toArray(new CompletableFuture[0])).join();
+        for (REIPluginV0 plugin : plugins) {
+            CompletableFuture<DisplayBuffer> future = buffers.get(plugin);
+            if (future == null) {
+                registerRecipeDisplays(profiler, plugin);
+            } else {
+                for (Runnable mutation : future.join().mutations) {
+                    mutation.run();
+                }
             }
         }
     }
     
+    /**
+     * Registers the displays of a plugin on the client thread, the recipe functions of thread safe plugins are still
+     * mapped in parallel.
+     */
+    private void registerRecipeDisplays(ReloadProfiler profiler, REIPluginV0 plugin) {
+        threadSafeDisplayRegistration = plugin.isRecipeDisplayRegistrationThreadSafe();
+        try {
+            pluginSection(profiler, "register-displays", Collections.singletonList(plugin), p -> p.registerRecipeDisplays(this));
+        } finally {
+            threadSafeDisplayRegistration = false;
+        }
+    }
+    
+    /**
+     * Maps every recipe matched by a recipe function into displays. Recipes are matched in one pass over the sorted recipes,
+     * the displays of the latest registered function come first in a category, each in the order of the sorted recipes,
+     * followed by the displays registered directly.
+     * <p>
+     * Functions registered by plugins that declare their display registration thread safe are mapped in parallel,
+     * whether or not the displays were registered in parallel.
+     */
+    @SuppressWarnings("rawtypes")
+    private void registerRecipeFunctions() {
+        List<RecipeFunction> functions = Lists.newArrayList(recipeFunctions);
+        List<List<Recipe>> matches = Lists.newArrayListWithCapacity(functions.size());
+        for (int i = 0; i < functions.size(); i++)
+            matches.add(Lists.newArrayList());
+        Map<Class<?>, BitSet> classMatches = Maps.newHashMap();
+        for (Recipe recipe : getAllSortedRecipes()) {
+            BitSet matchingClasses = classMatches.computeIfAbsent(recipe.getClass(), recipeClass -> {
+                BitSet bitSet = new BitSet();
+                for (int i = 0; i < functions.size(); i++) {
+                    Class<?> functionClass = functions.get(i).recipeClass;
+                    if (functionClass != null && functionClass.isAssignableFrom(recipeClass))
+                        bitSet.set(i);
+                }
+                return bitSet;
+            });
+            for (int i = 0; i < functions.size(); i++) {
+                RecipeFunction function = functions.get(i);
+                if (function.recipeClass != null) {
+                    if (matchingClasses.get(i))
+                        matches.get(i).add(recipe);
+                } else if (!function.failed.get()) {
+                    try {
+                        if (function.recipeFilter.test(recipe))
+                            matches.get(i).add(recipe);
+                    } catch (Exception e) {
+                        function.fail(e);
+                    }
+                }
+            }
+        }
+        Map<Identifier, List<RecipeDisplay>> mapped = Maps.newHashMap();
+        for (int i = functions.size() - 1; i >= 0; i--) {
+            RecipeFunction function = functions.get(i);
+            List<Recipe> recipes = matches.get(i);
+            if (recipes.isEmpty())
+                continue;
+            Stream<Recipe> stream = function.threadSafe ? recipes.parallelStream() : recipes.stream();
+            List<RecipeDisplay> displays = stream.map(function::map).filter(Objects::nonNull).collect(Collectors.toList());
+            CollectionUtils.getOrPutEmptyList(mapped, function.category).addAll(displays);
+        }
+        for (Map.Entry<Identifier, List<RecipeDisplay>> entry : mapped.entrySet()) {
+            List<RecipeDisplay> displays = recipeCategoryListMap.get(entry.getKey());
+            if (displays != null) {
+                displays.addAll(0, entry.getValue());
+                recipeCount[0] += entry.getValue().size();
+            }
+        }
+        markDisplaysDirty();
+    }
+    
     public void recipesLoaded(RecipeManager recipeManager) {
         long startTime = Util.getMeasuringTimeMs();
-        Object[] sectionData = {0L, 0L, ""};
+        ReloadProfiler profiler = new ReloadProfiler(() -> recipeCount[0], () -> EntryRegistry.getInstance().getStacksList().size());
         
-        startSection(sectionData, "reset-data");
+        profiler.startSection("reset-data");
         arePluginsLoading = true;
         ScreenHelper.clearLastRecipeScreenData();
         recipeCount[0] = 0;
         this.recipeManager = recipeManager;
         this.recipeCategoryListMap.clear();
+        markDisplaysDirty();
         this.categories.clear();
         this.reversedCategories.clear();
         this.autoCraftAreaSupplierMap.clear();
@@ -362,6 +539,7 @@ public class RecipeHelperImpl implements RecipeHelper {
         this.displayVisibilityHandlers.clear();
         this.liveRecipeGenerators.clear();
         this.autoTransferHandlers.clear();
+        this.sortedAutoTransferHandlers = Collections.emptyList();
         ((SubsetsRegistryImpl) SubsetsRegistry.INSTANCE).reset();
         ((FluidSupportProviderImpl) FluidSupportProvider.INSTANCE).reset();
         ((DisplayHelperImpl) DisplayHelper.getInstance()).resetData();
@@ -375,43 +553,41 @@ public class RecipeHelperImpl implements RecipeHelper {
         Collections.reverse(plugins);
         ((EntryRegistryImpl) EntryRegistry.getInstance()).reset();
         List<REIPluginV0> reiPluginV0s = new ArrayList<>();
-        endSection(sectionData);
+        profiler.endSection();
+        String cacheKey = null;
+        ReloadCache.Snapshot cache = null;
+        if (ConfigObject.getInstance().doesCacheReloadResults()) {
+            profiler.startSection("read-reload-cache");
+            cacheKey = ReloadCache.computeKey(recipeManager, plugins);
+            cache = reloadCache.read(cacheKey);
+            profiler.endSection();
+        }
         for (REIPluginEntry plugin : plugins) {
-            try {
-                if (plugin instanceof REIPluginV0) {
-                    startSection(sectionData, "pre-register for " + plugin.getPluginIdentifier().toString());
+            if (plugin instanceof REIPluginV0) {
+                try {
+                    profiler.startSection("pre-register", plugin.getPluginIdentifier());
                     ((REIPluginV0) plugin).preRegister();
                     reiPluginV0s.add((REIPluginV0) plugin);
-                    endSection(sectionData);
+                } catch (Throwable e) {
+                    RoughlyEnoughItemsCore.LOGGER.error(plugin.getPluginIdentifier().toString() + " plugin failed to pre register!", e);
+                } finally {
+                    profiler.endSection();
                 }
-            } catch (Throwable e) {
-                RoughlyEnoughItemsCore.LOGGER.error(plugin.getPluginIdentifier().toString() + " plugin failed to pre register!", e);
             }
         }
         DisplayHelper displayHelper = DisplayHelper.getInstance();
         EntryRegistry entryRegistry = EntryRegistry.getInstance();
-        pluginSection(sectionData, "register-bounds", reiPluginV0s, plugin -> plugin.registerBounds(displayHelper));
-        pluginSection(sectionData, "register-entries", reiPluginV0s, plugin -> plugin.registerEntries(entryRegistry));
-        pluginSection(sectionData, "register-categories", reiPluginV0s, plugin -> plugin.registerPluginCategories(this));
-        pluginSection(sectionData, "register-displays", reiPluginV0s, plugin -> plugin.registerRecipeDisplays(this));
-        pluginSection(sectionData, "register-others", reiPluginV0s, plugin -> plugin.registerOthers(this));
-        pluginSection(sectionData, "post-register", reiPluginV0s, REIPluginV0::postRegister);
-        startSection(sectionData, "recipe-functions");
-        if (!recipeFunctions.isEmpty()) {
-            @SuppressWarnings("rawtypes") List<Recipe> allSortedRecipes = getAllSortedRecipes();
-            Collections.reverse(allSortedRecipes);
-            for (RecipeFunction recipeFunction : recipeFunctions) {
-                try {
-                    for (Recipe<?> recipe : CollectionUtils.filter(allSortedRecipes, recipe -> recipeFunction.recipeFilter.test(recipe))) {
-                        registerDisplay(recipeFunction.category, (RecipeDisplay) recipeFunction.mappingFunction.apply(recipe), 0);
-                    }
-                } catch (Exception e) {
-                    RoughlyEnoughItemsCore.LOGGER.error("Failed to add recipes!", e);
-                }
-            }
-        }
-        endSection(sectionData);
-        startSection(sectionData, "fill-handlers");
+        pluginSection(profiler, "register-bounds", reiPluginV0s, plugin -> plugin.registerBounds(displayHelper));
+        pluginSection(profiler, "register-entries", reiPluginV0s, plugin -> plugin.registerEntries(entryRegistry));
+        pluginSection(profiler, "register-categories", reiPluginV0s, plugin -> plugin.registerPluginCategories(this));
+        registerRecipeDisplays(profiler, reiPluginV0s);
+        pluginSection(profiler, "register-others", reiPluginV0s, plugin -> plugin.registerOthers(this));
+        pluginSection(profiler, "post-register", reiPluginV0s, REIPluginV0::postRegister);
+        profiler.startSection("recipe-functions");
+        if (!recipeFunctions.isEmpty())
+            registerRecipeFunctions();
+        profiler.endSection();
+        profiler.startSection("fill-handlers");
         if (getDisplayVisibilityHandlers().isEmpty())
             registerRecipeVisibilityHandler(new DisplayVisibilityHandler() {
                 @Override
@@ -440,32 +616,56 @@ public class RecipeHelperImpl implements RecipeHelper {
                 return -10;
             }
         });
-        endSection(sectionData);
+        profiler.endSection();
         
         // Clear Cache
         ((DisplayHelperImpl) DisplayHelper.getInstance()).resetCache();
         ScreenHelper.getOptionalOverlay().ifPresent(overlay -> overlay.shouldReInit = true);
         
-        startSection(sectionData, "entry-registry-distinct");
+        profiler.startSection("entry-registry-distinct");
         
         // Remove duplicate entries
         ((EntryRegistryImpl) EntryRegistry.getInstance()).distinct();
         
-        endSection(sectionData);
-        startSection(sectionData, "entry-registry-refilter");
+        profiler.endSection();
         
         arePluginsLoading = false;
-        ((EntryRegistryImpl) EntryRegistry.getInstance()).refilter();
+        // The entries are verified against the cache at the same point they are written to it
+        if (cache != null && !cache.matchesEntries(EntryRegistry.getInstance().getStacksList())) {
+            RoughlyEnoughItemsCore.LOGGER.warn("Discarding reload cache with a matching key, plugins have registered different entries.");
+            cache = null;
+        }
+        if (cache != null) {
+            profiler.startSection("entry-registry-refilter-cached");
+            ((EntryRegistryImpl) EntryRegistry.getInstance()).refilter(cache.getHidden());
+            RoughlyEnoughItemsCore.LOGGER.info("Reused the filtering of %d entries from the reload cache.", cache.getEntries().size());
+        } else {
+            profiler.startSection("entry-registry-refilter");
+            ((EntryRegistryImpl) EntryRegistry.getInstance()).refilter();
+        }
         
-        endSection(sectionData);
-        startSection(sectionData, "finalizing");
+        profiler.endSection();
+        if (cacheKey != null && cache == null) {
+            profiler.startSection("write-reload-cache");
+            reloadCache.write(cacheKey, EntryRegistry.getInstance().getStacksList(), EntryRegistry.getInstance().getPreFilteredList());
+            profiler.endSection();
+        }
+        profiler.startSection("finalizing");
         
         // Clear Cache Again!
         ((DisplayHelperImpl) DisplayHelper.getInstance()).resetCache();
         ScreenHelper.getOptionalOverlay().ifPresent(overlay -> overlay.shouldReInit = true);
         
         displayVisibilityHandlers.sort(VISIBILITY_HANDLER_COMPARATOR);
-        endSection(sectionData);
+        sortAutoTransferHandlers();
+        profiler.endSection();
+        profiler.startSection("recipe-display-index");
+        
+        displayIndex.build(recipeCategoryListMap);
+        
+        profiler.endSection();
+        profiler.finish();
+        lastReloadProfile = profiler;
         
         long usedTime = Util.getMeasuringTimeMs() - startTime;
         RoughlyEnoughItemsCore.LOGGER.info("Reloaded %d stack entries, %d recipes displays, %d exclusion zones suppliers, %d overlay deciders, %d visibility handlers and %d categories (%s) in %dms.",
@@ -474,13 +674,26 @@ public class RecipeHelperImpl implements RecipeHelper {
     
     @Override
     public AutoTransferHandler registerAutoCraftingHandler(AutoTransferHandler handler) {
+        if (defer(() -> registerAutoCraftingHandler(handler)))
+            return handler;
         autoTransferHandlers.add(handler);
+        if (!arePluginsLoading())
+            sortAutoTransferHandlers();
         return handler;
     }
     
+    /**
+     * Sorts the handlers once, instead of every time the craft buttons evaluate them.
+     */
+    private void sortAutoTransferHandlers() {
+        List<AutoTransferHandler> handlers = Lists.newArrayList(autoTransferHandlers);
+        handlers.sort(AUTO_TRANSFER_HANDLER_COMPARATOR);
+        sortedAutoTransferHandlers = Collections.unmodifiableList(handlers);
+    }
+    
     @Override
     public List<AutoTransferHandler> getSortedAutoCraftingHandler() {
-        return autoTransferHandlers.stream().sorted(Comparator.comparingDouble(AutoTransferHandler::getPriority).reversed()).collect(Collectors.toList());
+        return sortedAutoTransferHandlers;
     }
     
     @Override
@@ -521,11 +734,15 @@ public class RecipeHelperImpl implements RecipeHelper {
     
     @Override
     public void registerRecipeVisibilityHandler(DisplayVisibilityHandler visibilityHandler) {
+        if (defer(() -> registerRecipeVisibilityHandler(visibilityHandler)))
+            return;
         displayVisibilityHandlers.add(visibilityHandler);
     }
     
     @Override
     public void unregisterRecipeVisibilityHandler(DisplayVisibilityHandler visibilityHandler) {
+        if (defer(() -> unregisterRecipeVisibilityHandler(visibilityHandler)))
+            return;
         displayVisibilityHandlers.remove(visibilityHandler);
     }
     
@@ -556,31 +773,66 @@ public class RecipeHelperImpl implements RecipeHelper {
     
     @Override
     public void registerScreenClickArea(Rectangle rectangle, Class<? extends ContainerScreen<?>> screenClass, Identifier... categories) {
+        if (defer(() -> registerScreenClickArea(rectangle, screenClass, categories)))
+            return;
         this.screenClickAreas.add(new ScreenClickAreaImpl(screenClass, rectangle, categories));
     }
     
     @Override
     public <T extends Recipe<?>> void registerRecipes(Identifier category, Class<T> recipeClass, Function<T, RecipeDisplay> mappingFunction) {
-        recipeFunctions.add(new RecipeFunction(category, recipe -> recipeClass.isAssignableFrom(recipe.getClass()), mappingFunction));
+        registerRecipeFunction(new RecipeFunction(category, recipeClass, mappingFunction));
     }
     
     @Override
     public <T extends Recipe<?>> void registerRecipes(Identifier category,
             @SuppressWarnings("rawtypes") Function<Recipe, Boolean> recipeFilter, Function<T, RecipeDisplay> mappingFunction) {
-        recipeFunctions.add(new RecipeFunction(category, recipeFilter::apply, mappingFunction));
+        registerRecipeFunction(new RecipeFunction(category, recipeFilter::apply, mappingFunction));
     }
     
     @Override
     public <T extends Recipe<?>> void registerRecipes(Identifier category,
             @SuppressWarnings("rawtypes") Predicate<Recipe> recipeFilter, Function<T, RecipeDisplay> mappingFunction) {
-        recipeFunctions.add(new RecipeFunction(category, recipeFilter, mappingFunction));
+        registerRecipeFunction(new RecipeFunction(category, recipeFilter, mappingFunction));
+    }
+    
+    private void registerRecipeFunction(RecipeFunction recipeFunction) {
+        if (threadSafeDisplayRegistration || displayBuffer.get() != null)
+            recipeFunction.threadSafe = true;
+        if (defer(() -> registerRecipeFunction(recipeFunction)))
+            return;
+        recipeFunctions.add(recipeFunction);
     }
     
     @Override
     public void registerLiveRecipeGenerator(LiveRecipeGenerator<?> liveRecipeGenerator) {
+        if (defer(() -> registerLiveRecipeGenerator(liveRecipeGenerator)))
+            return;
         liveRecipeGenerators.add((LiveRecipeGenerator<RecipeDisplay>) liveRecipeGenerator);
     }
     
+    /**
+     * Defers a mutation to the merge of the parallel registration of displays, if the current thread is a worker
+     * registering displays of a thread safe plugin, so the workers never touch the shared state.
+     *
+     * @return whether the mutation has been deferred
+     */
+    private boolean defer(Runnable mutation) {
+        DisplayBuffer buffer = displayBuffer.get();
+        if (buffer == null)
+            return false;
+        buffer.mutations.add(mutation);
+        return true;
+    }
+    
+    private boolean deferDisplay(Runnable mutation) {
+        DisplayBuffer buffer = displayBuffer.get();
+        if (buffer == null)
+            return false;
+        buffer.mutations.add(mutation);
+        buffer.displays++;
+        return true;
+    }
+    
     @Override
     public List<ScreenClickArea> getScreenClickAreas() {
         return screenClickAreas;
@@ -610,17 +862,52 @@ public class RecipeHelperImpl implements RecipeHelper {
         }
     }
     
+    /**
+     * The mutations of a plugin registering displays on a worker thread, replayed in order on the client thread.
+     */
+    private static class DisplayBuffer {
+        private final List<Runnable> mutations = Lists.newArrayList();
+        private int displays = 0;
+    }
+    
     @SuppressWarnings("rawtypes")
     private static class RecipeFunction {
         Identifier category;
+        @Nullable
+        Class<?> recipeClass;
         Predicate<Recipe> recipeFilter;
         Function mappingFunction;
+        boolean threadSafe;
+        private final AtomicBoolean failed = new AtomicBoolean();
         
         public RecipeFunction(Identifier category, Predicate<Recipe> recipeFilter, Function<?, RecipeDisplay> mappingFunction) {
             this.category = category;
             this.recipeFilter = recipeFilter;
             this.mappingFunction = mappingFunction;
         }
+        
+        public RecipeFunction(Identifier category, Class<?> recipeClass, Function<?, RecipeDisplay> mappingFunction) {
+            this(category, recipe -> recipeClass.isAssignableFrom(recipe.getClass()), mappingFunction);
+            this.recipeClass = recipeClass;
+        }
+        
+        @Nullable
+        private RecipeDisplay map(Recipe recipe) {
+            try {
+                return (RecipeDisplay) mappingFunction.apply(recipe);
+            } catch (Exception e) {
+                fail(e);
+                return null;
+            }
+        }
+        
+        /**
+         * Marks this function as failed, a failed function stops filtering recipes and only its first failure is logged.
+         */
+        private void fail(Exception e) {
+            if (!failed.getAndSet(true))
+                RoughlyEnoughItemsCore.LOGGER.error("Failed to add recipes!", e);
+        }
     }
     
 }
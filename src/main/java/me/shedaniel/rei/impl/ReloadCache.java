@@ -0,0 +1,253 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.shedaniel.rei.impl;
+
+import com.google.common.collect.Lists;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import me.shedaniel.rei.RoughlyEnoughItemsCore;
+import me.shedaniel.rei.api.ConfigObject;
+import me.shedaniel.rei.api.EntryStack;
+import me.shedaniel.rei.api.REIPluginEntry;
+import me.shedaniel.rei.impl.filtering.FilteringRule;
+import me.shedaniel.rei.impl.search.SearchDocumentCache;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.fabricmc.loader.api.FabricLoader;
+import net.fabricmc.loader.api.ModContainer;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.network.ClientPlayNetworkHandler;
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.IntArrayTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.NbtIo;
+import net.minecraft.recipe.Recipe;
+import net.minecraft.recipe.RecipeManager;
+import net.minecraft.tag.Tag;
+import net.minecraft.tag.TagContainer;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.Util;
+import net.minecraft.util.registry.Registry;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * On-disk memo of the filtering of the entries, so that reloading with the same recipes, plugins, mods, tags and
+ * filtering configuration can skip filtering the entries.
+ * <p>
+ * The plugins still register the entries and the displays on every reload, the memo only replaces the filtering.
+ * The cache keeps the entries to verify that the plugins registered the same entries as when the cache was written,
+ * before reusing the filtering result.
+ */
+@ApiStatus.Internal
+@Environment(EnvType.CLIENT)
+public class ReloadCache {
+    private static final int VERSION = 2;
+    private final File file;
+    
+    public ReloadCache(File file) {
+        this.file = file;
+    }
+    
+    /**
+     * Computes the key of the cache, which changes whenever the synchronized recipes and tags, the registered plugins,
+     * the loaded mods, the language or the filtering configuration change.
+     */
+    public static String computeKey(RecipeManager recipeManager, List<REIPluginEntry> plugins) {
+        Hasher hasher = Hashing.murmur3_128().newHasher();
+        hasher.putInt(VERSION);
+        List<String> recipeIds = Lists.newArrayList();
+        for (Recipe<?> recipe : recipeManager.values())
+            recipeIds.add(recipe.getId().toString());
+        recipeIds.sort(null);
+        for (String id : recipeIds)
+            hasher.putString(id, StandardCharsets.UTF_8);
+        for (REIPluginEntry plugin : plugins)
+            hasher.putString(plugin.getPluginIdentifier().toString(), StandardCharsets.UTF_8).putInt(plugin.getPriority());
+        List<String> mods = Lists.newArrayList();
+        for (ModContainer mod : FabricLoader.getInstance().getAllMods())
+            mods.add(mod.getMetadata().getId() + "@" + mod.getMetadata().getVersion().getFriendlyString());
+        mods.sort(null);
+        for (String mod : mods)
+            hasher.putString(mod, StandardCharsets.UTF_8);
+        for (FilteringRule<?> rule : ConfigObject.getInstance().getFilteringRules())
+            hasher.putString(FilteringRule.toTag(rule, new CompoundTag()).toString(), StandardCharsets.UTF_8);
+        for (EntryStack stack : ConfigObject.getInstance().getFilteredStacks())
+            hasher.putString(String.valueOf(stack.toJson()), StandardCharsets.UTF_8);
+        // Filtering rules search by the tooltips and the tags of the entries
+        hasher.putString(SearchDocumentCache.getTextState(), StandardCharsets.UTF_8);
+        ClientPlayNetworkHandler networkHandler = MinecraftClient.getInstance().getNetworkHandler();
+        if (networkHandler != null) {
+            putTags(hasher, networkHandler.getTagManager().items(), Registry.ITEM);
+            putTags(hasher, networkHandler.getTagManager().fluids(), Registry.FLUID);
+        }
+        return hasher.hash().toString();
+    }
+    
+    private static <T> void putTags(Hasher hasher, TagContainer<T> container, Registry<T> registry) {
+        List<Map.Entry<Identifier, Tag<T>>> tags = Lists.newArrayList(container.getEntries().entrySet());
+        tags.sort(Map.Entry.comparingByKey());
+        for (Map.Entry<Identifier, Tag<T>> entry : tags) {
+            hasher.putString(entry.getKey().toString(), StandardCharsets.UTF_8);
+            for (T value : entry.getValue().values())
+                hasher.putInt(registry.getRawId(value));
+        }
+    }
+    
+    /**
+     * Reads the cache from disk.
+     *
+     * @param key the expected key of the cache
+     * @return the cached snapshot, or {@code null} if there isn't a valid one for the key
+     */
+    @Nullable
+    public Snapshot read(String key) {
+        if (!file.exists())
+            return null;
+        long start = Util.getMeasuringTimeNano();
+        try (InputStream stream = new FileInputStream(file)) {
+            CompoundTag tag = NbtIo.readCompressed(stream);
+            if (tag.getInt("Version") != VERSION || !key.equals(tag.getString("Key")))
+                return null;
+            ListTag entriesTag = tag.getList("Entries", 10);
+            List<EntryStack> entries = Lists.newArrayListWithCapacity(entriesTag.size());
+            for (int i = 0; i < entriesTag.size(); i++) {
+                EntryStack stack = BinaryStackStorage.readStack(entriesTag.getCompound(i));
+                if (stack.isEmpty())
+                    return null;
+                entries.add(stack);
+            }
+            BitSet hidden = new BitSet(entries.size());
+            for (int index : tag.getIntArray("Hidden"))
+                hidden.set(index);
+            RoughlyEnoughItemsCore.LOGGER.info("Read reload cache with %d entries in %dms.", entries.size(), (Util.getMeasuringTimeNano() - start) / 1000000);
+            return new Snapshot(entries, hidden);
+        } catch (Throwable throwable) {
+            RoughlyEnoughItemsCore.LOGGER.warn("Failed to read reload cache, discarding it.", throwable);
+            return null;
+        }
+    }
+    
+    /**
+     * Writes the results of a reload to disk, the cache is not written if any entry can't be serialized.
+     *
+     * @param key             the key of the cache
+     * @param entries         the deduplicated entries
+     * @param filteredEntries the entries left after filtering, in the same order as {@code entries}
+     */
+    public void write(String key, List<EntryStack> entries, List<EntryStack> filteredEntries) {
+        long start = Util.getMeasuringTimeNano();
+        CompoundTag tag = new CompoundTag();
+        tag.putInt("Version", VERSION);
+        tag.putString("Key", key);
+        ListTag entriesTag = new ListTag();
+        IntList hidden = new IntArrayList();
+        int filteredIndex = 0;
+        for (int i = 0; i < entries.size(); i++) {
+            EntryStack stack = entries.get(i);
+            CompoundTag stackTag = BinaryStackStorage.writeStack(stack);
+            if (stackTag == null) {
+                RoughlyEnoughItemsCore.LOGGER.info("Skipped writing reload cache, %s can't be cached.", stack);
+                return;
+            }
+            entriesTag.add(stackTag);
+            if (filteredIndex < filteredEntries.size() && filteredEntries.get(filteredIndex) == stack) {
+                filteredIndex++;
+            } else hidden.add(i);
+        }
+        tag.put("Entries", entriesTag);
+        tag.put("Hidden", new IntArrayTag(hidden.toIntArray()));
+        try {
+            file.getParentFile().mkdirs();
+            File tempFile = new File(file.getParentFile(), file.getName() + ".tmp");
+            try (OutputStream stream = new FileOutputStream(tempFile)) {
+                NbtIo.writeCompressed(tag, stream);
+            }
+            Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            RoughlyEnoughItemsCore.LOGGER.info("Wrote reload cache with %d entries in %dms.", entries.size(), (Util.getMeasuringTimeNano() - start) / 1000000);
+        } catch (IOException e) {
+            RoughlyEnoughItemsCore.LOGGER.warn("Failed to write reload cache.", e);
+        }
+    }
+    
+    @ApiStatus.Internal
+    @Environment(EnvType.CLIENT)
+    public static class Snapshot {
+        private final List<EntryStack> entries;
+        private final BitSet hidden;
+        
+        private Snapshot(List<EntryStack> entries, BitSet hidden) {
+            this.entries = entries;
+            this.hidden = hidden;
+        }
+        
+        public List<EntryStack> getEntries() {
+            return entries;
+        }
+        
+        /**
+         * @return whether the plugins registered the same entries, in the same order, as when the cache was written
+         */
+        public boolean matchesEntries(List<EntryStack> stacks) {
+            if (entries.size() != stacks.size())
+                return false;
+            for (int i = 0; i < entries.size(); i++) {
+                if (!isSameStack(entries.get(i), stacks.get(i)))
+                    return false;
+            }
+            return true;
+        }
+        
+        private static boolean isSameStack(EntryStack cached, EntryStack stack) {
+            if (cached.getType() != stack.getType())
+                return false;
+            switch (cached.getType()) {
+                case ITEM:
+                    return ItemStack.areEqual(cached.getItemStack(), stack.getItemStack());
+                case FLUID:
+                    return cached.getFluid() == stack.getFluid() && cached.getFloatingAmount() == stack.getFloatingAmount();
+                default:
+                    return false;
+            }
+        }
+        
+        /**
+         * @return the indices of the entries hidden by the filtering rules
+         */
+        public BitSet getHidden() {
+            return hidden;
+        }
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.shedaniel.rei.impl;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import me.shedaniel.rei.RoughlyEnoughItemsCore;
+import me.shedaniel.rei.api.ReloadProfile;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.Util;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.IntSupplier;
+
+/**
+ * Records the sections of a reload, a section measures the wall time, the bytes allocated by the current thread and
+ * the displays and entries added while it was open.
+ * <p>
+ * A profiler only has one open section at a time, sections running on other threads should use a {@link #fork(IntSupplier)}.
+ */
+@ApiStatus.Internal
+@Environment(EnvType.CLIENT)
+public class ReloadProfiler implements ReloadProfile {
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+    private final long started;
+    private final List<SectionImpl> sections;
+    private final IntSupplier displays;
+    private final IntSupplier entries;
+    private long totalTime = -1;
+    @Nullable
+    private SectionImpl current;
+    private long allocationStart;
+    private int displaysStart;
+    private int entriesStart;
+    
+    public ReloadProfiler(IntSupplier displays, IntSupplier entries) {
+        this(Util.getMeasuringTimeNano(), Collections.synchronizedList(Lists.newArrayList()), displays, entries);
+    }
+    
+    private ReloadProfiler(long started, List<SectionImpl> sections, IntSupplier displays, IntSupplier entries) {
+        this.started = started;
+        this.sections = sections;
+        this.displays = displays;
+        this.entries = entries;
+    }
+    
+    /**
+     * Creates a profiler that records into the same sections, for sections running on another thread.
+     *
+     * @param displays the supplier of the displays added on the other thread
+     * @return the forked profiler
+     */
+    public ReloadProfiler fork(IntSupplier displays) {
+        return new ReloadProfiler(started, sections, displays, () -> 0);
+    }
+    
+    public void startSection(String phase) {
+        startSection(phase, null);
+    }
+    
+    public void startSection(String phase, @Nullable Identifier plugin) {
+        current = new SectionImpl(phase, plugin);
+        RoughlyEnoughItemsCore.LOGGER.debug("Reloading Section: \"%s\"", current.getName());
+        allocationStart = getAllocatedBytes();
+        displaysStart = displays.getAsInt();
+        entriesStart = entries.getAsInt();
+        current.time = Util.getMeasuringTimeNano();
+    }
+    
+    public void endSection() {
+        SectionImpl section = current;
+        if (section == null)
+            return;
+        current = null;
+        section.time = Util.getMeasuringTimeNano() - section.time;
+        long allocated = getAllocatedBytes();
+        section.allocatedBytes = allocated < 0 || allocationStart < 0 ? -1 : allocated - allocationStart;
+        section.displaysAdded = displays.getAsInt() - displaysStart;
+        section.entriesAdded = entries.getAsInt() - entriesStart;
+        sections.add(section);
+        if (section.time >= 1000000) {
+            RoughlyEnoughItemsCore.LOGGER.debug("Reloading Section: \"%s\" done in %.2fms", section.getName(), section.time / 1000000.0F);
+        } else {
+            RoughlyEnoughItemsCore.LOGGER.debug("Reloading Section: \"%s\" done in %.2fμs", section.getName(), section.time / 1000.0F);
+        }
+    }
+    
+    public void finish() {
+        totalTime = Util.getMeasuringTimeNano() - started;
+    }
+    
+    private static long getAllocatedBytes() {
+        try {
+            if (THREAD_MX_BEAN instanceof com.sun.management.ThreadMXBean) {
+                com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) THREAD_MX_BEAN;
+                if (bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled())
+                    return bean.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        } catch (Throwable ignored) {
+        }
+        return -1;
+    }
+    
+    @Override
+    public long getTotalTimeNanos() {
+        return totalTime;
+    }
+    
+    @NotNull
+    @Override
+    public List<Section> getSections() {
+        synchronized (sections) {
+            return ImmutableList.<Section>copyOf(sections);
+        }
+    }
+    
+    @NotNull
+    @Override
+    public JsonObject toJson() {
+        JsonObject object = new JsonObject();
+        object.addProperty("totalTimeNanos", getTotalTimeNanos());
+        JsonArray array = new JsonArray();
+        for (Section section : getSections()) {
+            JsonObject sectionObject = new JsonObject();
+            sectionObject.addProperty("phase", section.getPhase());
+            if (section.getPlugin() != null)
+                sectionObject.addProperty("plugin", section.getPlugin().toString());
+            sectionObject.addProperty("timeNanos", section.getTimeNanos());
+            sectionObject.addProperty("allocatedBytes", section.getAllocatedBytes());
+            sectionObject.addProperty("displaysAdded", section.getDisplaysAdded());
+            sectionObject.addProperty("entriesAdded", section.getEntriesAdded());
+            array.add(sectionObject);
+        }
+        object.add("sections", array);
+        return object;
+    }
+    
+    private static class SectionImpl implements Section {
+        private final String phase;
+        @Nullable
+        private final Identifier plugin;
+        private long time;
+        private long allocatedBytes;
+        private int displaysAdded;
+        private int entriesAdded;
+        
+        private SectionImpl(String phase, @Nullable Identifier plugin) {
+            this.phase = phase;
+            this.plugin = plugin;
+        }
+        
+        private String getName() {
+            return plugin == null ? phase : phase + " for " + plugin;
+        }
+        
+        @NotNull
+        @Override
+        public String getPhase() {
+            return phase;
+        }
+        
+        @Nullable
+        @Override
+        public Identifier getPlugin() {
+            return plugin;
+        }
+        
+        @Override
+        public long getTimeNanos() {
+            return time;
+        }
+        
+        @Override
+        public long getAllocatedBytes() {
+            return allocatedBytes;
+        }
+        
+        @Override
+        public int getDisplaysAdded() {
+            return displaysAdded;
+        }
+        
+        @Override
+        public int getEntriesAdded() {
+            return entriesAdded;
+        }
+    }
+}
@@ -32,6 +32,8 @@ import me.shedaniel.rei.impl.search.AlwaysMatchingArgument;
 import me.shedaniel.rei.impl.search.Argument;
 import me.shedaniel.rei.impl.search.ArgumentsRegistry;
 import me.shedaniel.rei.impl.search.MatchStatus;
+import me.shedaniel.rei.impl.search.SearchDocument;
+import me.shedaniel.rei.impl.search.SearchDocumentCache;
 import me.shedaniel.rei.utils.CollectionUtils;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
@@ -101,12 +103,11 @@ public class SearchArgument {
     public static boolean canSearchTermsBeAppliedTo(EntryStack stack, List<SearchArgument.SearchArguments> searchArguments) {
         if (searchArguments.isEmpty())
             return true;
-        MinecraftClient minecraft = MinecraftClient.getInstance();
-        Object[] data = new Object[ArgumentsRegistry.ARGUMENT_LIST.size()];
+        SearchDocument document = SearchDocumentCache.getDocument(stack);
         for (SearchArgument.SearchArguments arguments : searchArguments) {
             boolean applicable = true;
             for (SearchArgument argument : arguments.getArguments()) {
-                if (argument.getArgument().matches(data, stack, argument.getText(), argument.data) != argument.isRegular()) {
+                if (argument.getArgument().matches(document, stack, argument.getText(), argument.data) != argument.isRegular()) {
                     applicable = false;
                     break;
                 }
@@ -117,11 +118,49 @@ public class SearchArgument {
         return false;
     }
     
+    /**
+     * Checks whether every entry matched by {@code arguments} is also matched by {@code previousArguments},
+     * so the search can narrow the previous result instead of going through every entry again.
+     */
+    @ApiStatus.Internal
+    public static boolean isRefinementOf(List<SearchArgument.SearchArguments> arguments, List<SearchArgument.SearchArguments> previousArguments) {
+        if (previousArguments.isEmpty())
+            return true;
+        if (arguments.size() != previousArguments.size())
+            return false;
+        for (int i = 0; i < arguments.size(); i++) {
+            SearchArguments previous = previousArguments.get(i);
+            if (previous.isAlways())
+                continue;
+            SearchArgument[] current = arguments.get(i).getArguments();
+            SearchArgument[] last = previous.getArguments();
+            if (current.length < last.length)
+                return false;
+            for (int j = 0; j < last.length; j++) {
+                if (!current[j].isRefinementOf(last[j]))
+                    return false;
+            }
+        }
+        return true;
+    }
+    
+    private boolean isRefinementOf(SearchArgument previous) {
+        if (argument != previous.argument || regular != previous.regular)
+            return false;
+        if (text.equals(previous.text))
+            return true;
+        // Inverted arguments match more entries with a longer text
+        return regular && argument.isSubstringMatch() && text.contains(previous.text);
+    }
+    
     public static String tryGetEntryStackTooltip(EntryStack stack) {
-        Tooltip tooltip = stack.getTooltip(new Point());
-        if (tooltip != null)
-            return CollectionUtils.mapAndJoinToString(tooltip.getText(), Text::getString, "\n");
-        return "";
+        boolean advanced = MinecraftClient.getInstance().options.advancedItemTooltips;
+        return EntryTooltipCache.getSearchTooltip(stack, advanced, () -> {
+            Tooltip tooltip = stack.getTooltip(new Point());
+            if (tooltip != null)
+                return CollectionUtils.mapAndJoinToString(tooltip.getText(), Text::getString, "\n");
+            return "";
+        });
     }
     
     public Argument getArgument() {
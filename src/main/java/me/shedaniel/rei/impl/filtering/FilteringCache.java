@@ -0,0 +1,145 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.shedaniel.rei.impl.filtering;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import it.unimi.dsi.fastutil.objects.Reference2IntMap;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import me.shedaniel.rei.api.EntryStack;
+import me.shedaniel.rei.impl.search.SearchDocumentCache;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Caches the result of every filtering rule as bitsets over the indices of the registry entries, so that a refilter
+ * only evaluates the rules that have changed since the last one, and recombines the cached results of the others.
+ * <p>
+ * A rule hides or shows every stack it matches, whatever state the previous rules left the stack in, so each rule is
+ * evaluated on its own over every entry, and the rules are then applied in order on the bitsets.
+ * Stacks are tracked by identity, distinct stacks with colliding hashes are never merged.
+ */
+@ApiStatus.Internal
+@Environment(EnvType.CLIENT)
+public class FilteringCache {
+    private final Map<String, RuleResult> results = Maps.newHashMap();
+    private final Reference2IntMap<EntryStack> indices = new Reference2IntOpenHashMap<>();
+    @Nullable
+    private String textState;
+    
+    public FilteringCache() {
+        indices.defaultReturnValue(-1);
+    }
+    
+    /**
+     * Drops every cached result, should be called whenever the registry entries change.
+     */
+    public synchronized void invalidate() {
+        results.clear();
+        indices.clear();
+        textState = null;
+    }
+    
+    /**
+     * Filters the entries with the rules, applied from the last rule to the first one.
+     *
+     * @param stacks     the registry entries
+     * @param rules      the filtering rules
+     * @param superseded checked between rules, to abandon filtering once the result isn't needed anymore
+     * @return the indices of the hidden entries, or {@code null} if filtering has been superseded
+     */
+    @Nullable
+    public synchronized BitSet filter(List<EntryStack> stacks, List<FilteringRule<?>> rules, BooleanSupplier superseded) {
+        String currentTextState = SearchDocumentCache.getTextState();
+        if (indices.size() != stacks.size() || !Objects.equals(textState, currentTextState)) {
+            invalidate();
+            textState = currentTextState;
+            for (int i = 0; i < stacks.size(); i++)
+                indices.put(stacks.get(i), i);
+        }
+        BitSet hidden = new BitSet(stacks.size());
+        BitSet shown = new BitSet(stacks.size());
+        Set<String> usedKeys = Sets.newHashSet();
+        for (int i = rules.size() - 1; i >= 0; i--) {
+            if (superseded.getAsBoolean())
+                return null;
+            FilteringRule<?> rule = rules.get(i);
+            String key = rule.getCacheKey();
+            RuleResult result = key == null ? null : results.get(key);
+            if (result == null) {
+                result = evaluate(rule, stacks);
+                if (key != null)
+                    results.put(key, result);
+            }
+            if (key != null)
+                usedKeys.add(key);
+            hidden.or(result.hidden);
+            shown.andNot(result.hidden);
+            hidden.andNot(result.shown);
+            shown.or(result.shown);
+        }
+        results.keySet().retainAll(usedKeys);
+        return hidden;
+    }
+    
+    private RuleResult evaluate(FilteringRule<?> rule, List<EntryStack> stacks) {
+        FilteringResult result = rule.processFilteredStacks(new FilteringContextImpl(stacks));
+        return new RuleResult(toBitSet(result.getHiddenStacks(), stacks.size()), toBitSet(result.getShownStacks(), stacks.size()));
+    }
+    
+    private BitSet toBitSet(Collection<EntryStack> stacks, int size) {
+        BitSet bitSet = new BitSet(size);
+        for (EntryStack stack : stacks) {
+            int index = indices.getInt(stack);
+            if (index >= 0)
+                bitSet.set(index);
+        }
+        return bitSet;
+    }
+    
+    /**
+     * Collects the entries not hidden, in their registry order.
+     */
+    public static List<EntryStack> collectShown(List<EntryStack> stacks, BitSet hidden) {
+        List<EntryStack> list = Lists.newArrayListWithCapacity(stacks.size() - hidden.cardinality());
+        for (int i = hidden.nextClearBit(0); i < stacks.size(); i = hidden.nextClearBit(i + 1))
+            list.add(stacks.get(i));
+        return list;
+    }
+    
+    private static class RuleResult {
+        private final BitSet hidden;
+        private final BitSet shown;
+        
+        private RuleResult(BitSet hidden, BitSet shown) {
+            this.hidden = hidden;
+            this.shown = shown;
+        }
+    }
+}
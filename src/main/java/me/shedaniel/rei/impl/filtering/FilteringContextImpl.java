@@ -24,11 +24,14 @@
 package me.shedaniel.rei.impl.filtering;
 
 import com.google.common.collect.Maps;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
 import me.shedaniel.rei.api.EntryStack;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
 
-import java.util.*;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Environment(EnvType.CLIENT)
 public class FilteringContextImpl implements FilteringContext {
@@ -42,7 +45,7 @@ public class FilteringContextImpl implements FilteringContext {
     public FilteringContextImpl(Map<FilteringContextType, Set<EntryStack>> stacks) {
         this.stacks = stacks;
         for (FilteringContextType type : FilteringContextType.values()) {
-            this.stacks.computeIfAbsent(type, t -> new TreeSet<>(Comparator.comparing(EntryStack::hashIgnoreAmount)));
+            this.stacks.computeIfAbsent(type, t -> new ReferenceOpenHashSet<>());
         }
     }
     
@@ -23,19 +23,18 @@
 
 package me.shedaniel.rei.impl.filtering;
 
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
 import me.shedaniel.rei.api.EntryStack;
 
-import java.util.Comparator;
 import java.util.List;
 import java.util.Set;
-import java.util.TreeSet;
 
 public class FilteringResultImpl implements FilteringResult {
     private final Set<EntryStack> hiddenStacks, shownStacks;
     
     public FilteringResultImpl(List<EntryStack> hiddenStacks, List<EntryStack> shownStacks) {
-        this.hiddenStacks = new TreeSet<>(Comparator.comparing(EntryStack::hashIgnoreAmount));
-        this.shownStacks = new TreeSet<>(Comparator.comparing(EntryStack::hashIgnoreAmount));
+        this.hiddenStacks = new ReferenceOpenHashSet<>();
+        this.shownStacks = new ReferenceOpenHashSet<>();
         this.hiddenStacks.addAll(hiddenStacks);
         this.shownStacks.addAll(shownStacks);
     }
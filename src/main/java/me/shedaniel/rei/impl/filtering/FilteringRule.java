@@ -38,6 +38,7 @@ import net.minecraft.util.registry.RegistryKey;
 import net.minecraft.util.registry.SimpleRegistry;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Optional;
 import java.util.function.BiFunction;
@@ -75,6 +76,17 @@ public interface FilteringRule<T extends FilteringRule<?>> {
     @NotNull
     FilteringResult processFilteredStacks(@NotNull FilteringContext context);
     
+    /**
+     * Returns the key of the result of this rule, rules with the same key must hide and show the same stacks,
+     * so that {@link FilteringCache} can reuse the result between refilters.
+     *
+     * @return the key of the result, or {@code null} if the result depends on anything else than the rule itself
+     */
+    @Nullable
+    default String getCacheKey() {
+        return toTag(this, new CompoundTag()).toString();
+    }
+    
     @ApiStatus.Internal
     default Optional<BiFunction<FilteringEntry, Screen, Screen>> createEntryScreen() {
         return Optional.empty();
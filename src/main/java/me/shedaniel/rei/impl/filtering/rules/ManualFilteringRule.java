@@ -26,6 +26,7 @@ package me.shedaniel.rei.impl.filtering.rules;
 import com.google.common.collect.Lists;
 import me.shedaniel.rei.api.ConfigObject;
 import me.shedaniel.rei.api.EntryStack;
+import me.shedaniel.rei.impl.EntryStackSet;
 import me.shedaniel.rei.impl.filtering.AbstractFilteringRule;
 import me.shedaniel.rei.impl.filtering.FilteringContext;
 import me.shedaniel.rei.impl.filtering.FilteringResult;
@@ -33,8 +34,8 @@ import net.minecraft.nbt.CompoundTag;
 import net.minecraft.text.Text;
 import net.minecraft.text.TranslatableText;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
-import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 
@@ -52,29 +53,30 @@ public class ManualFilteringRule extends AbstractFilteringRule<ManualFilteringRu
     @Override
     public @NotNull FilteringResult processFilteredStacks(@NotNull FilteringContext context) {
         FilteringResult result = FilteringResult.create();
-        processList(context.getShownStacks(), result);
-        processList(context.getUnsetStacks(), result);
+        EntryStackSet filteredStacks = new EntryStackSet(ConfigObject.getInstance().getFilteredStacks());
+        processList(context.getShownStacks(), filteredStacks, result);
+        processList(context.getUnsetStacks(), filteredStacks, result);
         return result;
     }
     
-    private void processList(Set<EntryStack> stacks, FilteringResult result) {
-        List<EntryStack> filteredStacks = ConfigObject.getInstance().getFilteredStacks();
+    /**
+     * The filtered stacks are stored in the config, and are cheap to look up.
+     */
+    @Nullable
+    @Override
+    public String getCacheKey() {
+        return null;
+    }
+    
+    private void processList(Set<EntryStack> stacks, EntryStackSet filteredStacks, FilteringResult result) {
         List<EntryStack> filtered = Lists.newArrayList();
         for (EntryStack stack : stacks) {
-            if (findFirstOrNullEqualsEntryIgnoreAmount(filteredStacks, stack) != null)
+            if (filteredStacks.contains(stack))
                 filtered.add(stack);
         }
         result.hide(filtered);
     }
     
-    private static EntryStack findFirstOrNullEqualsEntryIgnoreAmount(Collection<EntryStack> list, EntryStack obj) {
-        for (EntryStack t : list) {
-            if (t.equalsIgnoreAmount(obj))
-                return t;
-        }
-        return null;
-    }
-    
     @Override
     public Text getTitle() {
         return new TranslatableText("rule.roughlyenoughitems.filtering.manual");
@@ -24,6 +24,7 @@
 package me.shedaniel.rei.impl.filtering.rules;
 
 import com.google.common.collect.Lists;
+import me.shedaniel.rei.RoughlyEnoughItemsCore;
 import me.shedaniel.rei.api.EntryStack;
 import me.shedaniel.rei.gui.config.entry.FilteringEntry;
 import me.shedaniel.rei.gui.config.entry.FilteringRuleOptionsScreen;
@@ -87,7 +88,7 @@ public class SearchFilteringRule extends AbstractFilteringRule<SearchFilteringRu
         try {
             CompletableFuture.allOf(completableFutures.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
         } catch (InterruptedException | ExecutionException | TimeoutException e) {
-            e.printStackTrace();
+            RoughlyEnoughItemsCore.LOGGER.error("Failed to apply search filtering rule \"%s\"!", filter, e);
         }
         FilteringResult result = FilteringResult.create();
         for (CompletableFuture<List<EntryStack>> future : completableFutures) {
@@ -36,7 +36,7 @@ public final class AlwaysMatchingArgument extends Argument {
     }
     
     @Override
-    public boolean matches(Object[] data, EntryStack stack, String searchText, Object searchData) {
+    public boolean matches(SearchDocument document, EntryStack stack, String searchText, Object searchData) {
         return true;
     }
     
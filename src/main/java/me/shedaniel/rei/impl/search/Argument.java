@@ -32,8 +32,6 @@ public abstract class Argument {
     public Argument() {
     }
     
-    private int dataOrdinal = -1;
-    
     public abstract String getName();
     
     @Nullable
@@ -49,14 +47,15 @@ public abstract class Argument {
         return text.startsWith(prefix) ? MatchStatus.matched(text.substring(prefix.length())) : MatchStatus.unmatched();
     }
     
-    public final int getDataOrdinal() {
-        if (dataOrdinal == -1) {
-            dataOrdinal = ArgumentsRegistry.ARGUMENT_LIST.indexOf(this);
-        }
-        return dataOrdinal;
+    /**
+     * Whether this argument only matches by substring, in which case a search text that contains a previous search text
+     * can only match entries that were matched by the previous search text.
+     */
+    public boolean isSubstringMatch() {
+        return false;
     }
     
-    public abstract boolean matches(Object[] data, EntryStack stack, String searchText, Object searchData);
+    public abstract boolean matches(SearchDocument document, EntryStack stack, String searchText, Object searchData);
     
     public Object prepareSearchData(String searchText) {
         return null;
@@ -62,14 +62,10 @@ public final class RegexArgument extends Argument {
     }
     
     @Override
-    public boolean matches(Object[] data, EntryStack stack, String searchText, Object searchData) {
+    public boolean matches(SearchDocument document, EntryStack stack, String searchText, Object searchData) {
         Pattern pattern = (Pattern) searchData;
         if (pattern == null) return false;
-        if (data[getDataOrdinal()] == null) {
-            String name = stack.asFormatStrippedText().getString();
-            data[getDataOrdinal()] = name;
-        }
-        Matcher matcher = pattern.matcher((String) data[getDataOrdinal()]);
+        Matcher matcher = pattern.matcher(document.getStrippedName());
         return matcher != null && matcher.matches();
     }
     
@@ -0,0 +1,126 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.shedaniel.rei.impl.search;
+
+import me.shedaniel.rei.api.ClientHelper;
+import me.shedaniel.rei.api.EntryStack;
+import me.shedaniel.rei.impl.SearchArgument;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.network.ClientPlayNetworkHandler;
+import net.minecraft.util.Identifier;
+import org.jetbrains.annotations.ApiStatus;
+
+import java.util.Collection;
+import java.util.Locale;
+
+/**
+ * The searchable strings of an {@link EntryStack}, each one is computed once and kept for the lifetime of the document.
+ * Documents of registry entries are kept in the {@link SearchDocumentCache}.
+ */
+@ApiStatus.Internal
+@Environment(EnvType.CLIENT)
+public final class SearchDocument {
+    private static final String[] EMPTY_TAGS = new String[0];
+    private final EntryStack stack;
+    private volatile String strippedName;
+    private volatile String name;
+    private volatile String tooltip;
+    private volatile String[] tags;
+    private volatile String namespace;
+    private volatile String modName;
+    
+    public SearchDocument(EntryStack stack) {
+        this.stack = stack;
+    }
+    
+    public EntryStack getStack() {
+        return stack;
+    }
+    
+    /**
+     * @return the format stripped name, with its original casing
+     */
+    public String getStrippedName() {
+        String strippedName = this.strippedName;
+        if (strippedName == null)
+            this.strippedName = strippedName = stack.asFormatStrippedText().getString();
+        return strippedName;
+    }
+    
+    public String getName() {
+        String name = this.name;
+        if (name == null)
+            this.name = name = getStrippedName().toLowerCase(Locale.ROOT);
+        return name;
+    }
+    
+    public String getTooltip() {
+        String tooltip = this.tooltip;
+        if (tooltip == null)
+            this.tooltip = tooltip = SearchArgument.tryGetEntryStackTooltip(stack).toLowerCase(Locale.ROOT);
+        return tooltip;
+    }
+    
+    public String[] getTags() {
+        String[] tags = this.tags;
+        if (tags == null) {
+            ClientPlayNetworkHandler networkHandler = MinecraftClient.getInstance().getNetworkHandler();
+            if (networkHandler == null)
+                return EMPTY_TAGS;
+            Collection<Identifier> tagsFor;
+            if (stack.getType() == EntryStack.Type.ITEM) {
+                tagsFor = networkHandler.getTagManager().items().getTagsFor(stack.getItem());
+            } else if (stack.getType() == EntryStack.Type.FLUID) {
+                tagsFor = networkHandler.getTagManager().fluids().getTagsFor(stack.getFluid());
+            } else
+                tagsFor = null;
+            if (tagsFor == null || tagsFor.isEmpty()) {
+                tags = EMPTY_TAGS;
+            } else {
+                tags = new String[tagsFor.size()];
+                int i = 0;
+                for (Identifier identifier : tagsFor)
+                    tags[i++] = identifier.toString();
+            }
+            this.tags = tags;
+        }
+        return tags;
+    }
+    
+    public String getNamespace() {
+        String namespace = this.namespace;
+        if (namespace == null)
+            this.namespace = namespace = stack.getIdentifier().map(Identifier::getNamespace).orElse("").toLowerCase(Locale.ROOT);
+        return namespace;
+    }
+    
+    public String getModName() {
+        String modName = this.modName;
+        if (modName == null)
+            this.modName = modName = ClientHelper.getInstance().getModFromModId(getNamespace()).toLowerCase(Locale.ROOT);
+        return modName;
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.shedaniel.rei.impl.search;
+
+import me.shedaniel.rei.RoughlyEnoughItemsCore;
+import me.shedaniel.rei.api.EntryRegistry;
+import me.shedaniel.rei.api.EntryStack;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.minecraft.client.MinecraftClient;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Keeps a {@link SearchDocument} for every registry entry, keyed by identity.
+ * The cache is rebuilt when the registry is refiltered, and when the language or the advanced tooltips option changes,
+ * since both change the text of the documents.
+ */
+@ApiStatus.Internal
+@Environment(EnvType.CLIENT)
+public final class SearchDocumentCache {
+    private static volatile Map<EntryStack, SearchDocument> documents = Collections.emptyMap();
+    @Nullable
+    private static volatile String textState = null;
+    
+    private SearchDocumentCache() {
+    }
+    
+    public static void rebuild(List<EntryStack> stacks) {
+        long started = System.currentTimeMillis();
+        Map<EntryStack, SearchDocument> map = new IdentityHashMap<>(stacks.size());
+        for (EntryStack stack : stacks) {
+            SearchDocument document = new SearchDocument(stack);
+            document.getName();
+            map.put(stack, document);
+        }
+        textState = getTextState();
+        documents = map;
+        long time = System.currentTimeMillis() - started;
+        RoughlyEnoughItemsCore.LOGGER.debug("Built search cache for %d entries in %dms.", map.size(), time);
+    }
+    
+    public static void invalidate() {
+        textState = null;
+        documents = Collections.emptyMap();
+    }
+    
+    /**
+     * Returns the cached document of a registry entry, or a fresh document for stacks that are not in the registry.
+     */
+    public static SearchDocument getDocument(EntryStack stack) {
+        String cachedTextState = textState;
+        if (cachedTextState != null && !cachedTextState.equals(getTextState()))
+            refresh(cachedTextState);
+        SearchDocument document = documents.get(stack);
+        if (document == null)
+            return new SearchDocument(stack);
+        return document;
+    }
+    
+    private static synchronized void refresh(String staleTextState) {
+        if (Objects.equals(textState, staleTextState)) {
+            rebuild(EntryRegistry.getInstance().getStacksList());
+        }
+    }
+    
+    /**
+     * @return the language and the advanced tooltips option, which the text of the documents depends on
+     */
+    @Nullable
+    public static String getTextState() {
+        MinecraftClient client = MinecraftClient.getInstance();
+        return client == null ? null : client.options.language + (client.options.advancedItemTooltips ? ";advanced" : "");
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.shedaniel.rei.impl.search;
+
+import com.google.common.collect.Lists;
+import me.shedaniel.rei.RoughlyEnoughItemsCore;
+import me.shedaniel.rei.api.EntryStack;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.minecraft.util.math.MathHelper;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Runs searches over entry lists on a dedicated pool, a newly submitted search supersedes the searches still running.
+ * <p>
+ * Every submission gets a new version, only the result of the newest version is ever published,
+ * and {@link #poll()} hands it over exactly once, so callers can keep showing the previous result until then.
+ *
+ * @param <T> the type of the published result
+ */
+@ApiStatus.Internal
+@Environment(EnvType.CLIENT)
+public final class SearchScheduler<T> {
+    private static final int THREADS = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+    private static final int CHUNKS_PER_THREAD = 4;
+    private static final int CANCEL_CHECK_INTERVAL = 64;
+    private static final ExecutorService EXECUTOR;
+    private final AtomicLong version = new AtomicLong();
+    private final AtomicReference<Result<T>> completed = new AtomicReference<>();
+    
+    static {
+        AtomicInteger threadId = new AtomicInteger();
+        EXECUTOR = Executors.newFixedThreadPool(THREADS, runnable -> {
+            Thread thread = new Thread(runnable, "REI-Search-" + threadId.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    public static ExecutorService getExecutor() {
+        return EXECUTOR;
+    }
+    
+    /**
+     * Splits the list in a few chunks per core, so every search thread gets work, but never in chunks smaller than {@code minimumChunkSize}.
+     */
+    public static int getChunkSize(int size, int minimumChunkSize) {
+        return Math.max(Math.max(minimumChunkSize, 1), MathHelper.ceil(size / (float) (THREADS * CHUNKS_PER_THREAD)));
+    }
+    
+    /**
+     * Supersedes every submitted search, their results will never be published.
+     */
+    public void cancel() {
+        version.incrementAndGet();
+        completed.set(null);
+    }
+    
+    /**
+     * Filters {@code stacks} in the background and publishes {@code finisher} of the matching stacks, in their original order.
+     */
+    public void submit(List<EntryStack> stacks, int minimumChunkSize, Predicate<EntryStack> predicate, Function<List<EntryStack>, T> finisher) {
+        long version = this.version.incrementAndGet();
+        int chunkSize = getChunkSize(stacks.size(), minimumChunkSize);
+        List<CompletableFuture<List<EntryStack>>> futures = Lists.newArrayList();
+        for (int i = 0; i < stacks.size(); i += chunkSize) {
+            int start = i;
+            int end = Math.min(stacks.size(), i + chunkSize);
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                List<EntryStack> filtered = Lists.newArrayList();
+                for (int j = start; j < end; j++) {
+                    if ((j - start) % CANCEL_CHECK_INTERVAL == 0 && isSuperseded(version))
+                        return null;
+                    EntryStack stack = stacks.get(j);
+                    if (predicate.test(stack))
+                        filtered.add(stack);
+                }
+                return filtered;
+            }, EXECUTOR));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).thenRunAsync(() -> {
+            if (isSuperseded(version))
+                return;
+            List<EntryStack> result = Lists.newArrayList();
+            for (CompletableFuture<List<EntryStack>> future : futures) {
+                List<EntryStack> now = future.join();
+                if (now == null)
+                    return;
+                result.addAll(now);
+            }
+            T value = finisher.apply(result);
+            if (!isSuperseded(version))
+                completed.set(new Result<>(version, value));
+        }, EXECUTOR).exceptionally(throwable -> {
+            RoughlyEnoughItemsCore.LOGGER.error("Failed to search entries!", throwable);
+            return null;
+        });
+    }
+    
+    /**
+     * @return the result of the newest search if it has completed and not been polled yet
+     */
+    @Nullable
+    public T poll() {
+        Result<T> result = completed.get();
+        if (result == null || result.version != version.get())
+            return null;
+        if (!completed.compareAndSet(result, null))
+            return null;
+        return result.value;
+    }
+    
+    private boolean isSuperseded(long version) {
+        return this.version.get() != version;
+    }
+    
+    private static class Result<T> {
+        private final long version;
+        private final T value;
+        
+        private Result(long version, T value) {
+            this.version = version;
+            this.value = value;
+        }
+    }
+}
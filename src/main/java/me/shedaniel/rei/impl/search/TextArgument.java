@@ -27,8 +27,6 @@ import me.shedaniel.rei.api.EntryStack;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.Locale;
-
 @ApiStatus.Internal
 public final class TextArgument extends Argument {
     public static final TextArgument INSTANCE = new TextArgument();
@@ -44,11 +42,13 @@ public final class TextArgument extends Argument {
     }
     
     @Override
-    public boolean matches(Object[] data, EntryStack stack, String searchText, Object searchData) {
-        if (data[getDataOrdinal()] == null) {
-            data[getDataOrdinal()] = stack.asFormatStrippedText().getString().toLowerCase(Locale.ROOT);
-        }
-        return ((String) data[getDataOrdinal()]).contains(searchText);
+    public boolean isSubstringMatch() {
+        return true;
+    }
+    
+    @Override
+    public boolean matches(SearchDocument document, EntryStack stack, String searchText, Object searchData) {
+        return document.getName().contains(searchText);
     }
     
     private TextArgument() {
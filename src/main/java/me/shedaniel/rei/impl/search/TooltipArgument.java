@@ -24,12 +24,9 @@
 package me.shedaniel.rei.impl.search;
 
 import me.shedaniel.rei.api.EntryStack;
-import me.shedaniel.rei.impl.SearchArgument;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.Locale;
-
 @ApiStatus.Internal
 public final class TooltipArgument extends Argument {
     public static final TooltipArgument INSTANCE = new TooltipArgument();
@@ -45,11 +42,13 @@ public final class TooltipArgument extends Argument {
     }
     
     @Override
-    public boolean matches(Object[] data, EntryStack stack, String searchText, Object searchData) {
-        if (data[getDataOrdinal()] == null) {
-            data[getDataOrdinal()] = SearchArgument.tryGetEntryStackTooltip(stack).toLowerCase(Locale.ROOT);
-        }
-        String tooltip = (String) data[getDataOrdinal()];
+    public boolean isSubstringMatch() {
+        return true;
+    }
+    
+    @Override
+    public boolean matches(SearchDocument document, EntryStack stack, String searchText, Object searchData) {
+        String tooltip = document.getTooltip();
         return tooltip.isEmpty() || tooltip.contains(searchText);
     }
     
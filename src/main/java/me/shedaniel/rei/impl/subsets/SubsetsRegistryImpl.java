@@ -25,10 +25,9 @@ package me.shedaniel.rei.impl.subsets;
 
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
-import com.google.common.collect.Sets;
 import me.shedaniel.rei.api.EntryStack;
 import me.shedaniel.rei.api.subsets.SubsetsRegistry;
-import me.shedaniel.rei.utils.CollectionUtils;
+import me.shedaniel.rei.impl.EntryStackSet;
 import net.minecraft.util.Identifier;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
@@ -49,7 +48,7 @@ public class SubsetsRegistryImpl implements SubsetsRegistry {
     public @NotNull List<String> getEntryPaths(@NotNull EntryStack stack) {
         List<String> strings = null;
         for (Map.Entry<String, Set<EntryStack>> entry : entryPaths.entrySet()) {
-            if (CollectionUtils.findFirstOrNullEqualsEntryIgnoreAmount(entry.getValue(), stack) != null) {
+            if (entry.getValue().contains(stack)) {
                 if (strings == null)
                     strings = Lists.newArrayList();
                 strings.add(entry.getKey());
@@ -89,7 +88,7 @@ public class SubsetsRegistryImpl implements SubsetsRegistry {
     public Set<EntryStack> getOrCreatePathEntries(@NotNull String path) {
         Set<EntryStack> paths = getPathEntries(path);
         if (paths == null) {
-            entryPaths.put(path, Sets.newLinkedHashSet());
+            entryPaths.put(path, new EntryStackSet());
             paths = Objects.requireNonNull(getPathEntries(path));
         }
         return paths;
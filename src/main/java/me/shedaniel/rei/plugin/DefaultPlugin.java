@@ -195,6 +195,9 @@ public class DefaultPlugin implements REIPluginV0 {
         if (!ConfigObject.getInstance().isLoadingDefaultPlugin()) {
             return;
         }
+        // Filled on the client thread, registering the displays may run on a worker thread
+        if (ComposterBlock.ITEM_TO_LEVEL_INCREASE_CHANCE.isEmpty())
+            ComposterBlock.registerDefaultCompostableItems();
         recipeHelper.registerCategory(new DefaultCraftingCategory());
         recipeHelper.registerCategory(new DefaultCookingCategory(SMELTING, EntryStack.create(Items.FURNACE), "category.rei.smelting"));
         recipeHelper.registerCategory(new DefaultCookingCategory(SMOKING, EntryStack.create(Items.SMOKER), "category.rei.smoking"));
@@ -210,6 +213,11 @@ public class DefaultPlugin implements REIPluginV0 {
         recipeHelper.registerCategory(new DefaultInformationCategory());
     }
     
+    @Override
+    public boolean isRecipeDisplayRegistrationThreadSafe() {
+        return true;
+    }
+    
     @Override
     public void registerRecipeDisplays(RecipeHelper recipeHelper) {
         if (!ConfigObject.getInstance().isLoadingDefaultPlugin()) {
@@ -246,8 +254,6 @@ public class DefaultPlugin implements REIPluginV0 {
             }
         }
         Map<ItemConvertible, Float> map = Maps.newLinkedHashMap();
-        if (ComposterBlock.ITEM_TO_LEVEL_INCREASE_CHANCE.isEmpty())
-            ComposterBlock.registerDefaultCompostableItems();
         for (Object2FloatMap.Entry<ItemConvertible> entry : ComposterBlock.ITEM_TO_LEVEL_INCREASE_CHANCE.object2FloatEntrySet()) {
             if (entry.getFloatValue() > 0)
                 map.put(entry.getKey(), entry.getFloatValue());
@@ -24,12 +24,13 @@
 package me.shedaniel.rei.plugin.autocrafting;
 
 import io.netty.buffer.Unpooled;
-import it.unimi.dsi.fastutil.ints.IntArrayList;
 import it.unimi.dsi.fastutil.ints.IntList;
 import me.shedaniel.rei.RoughlyEnoughItemsNetwork;
 import me.shedaniel.rei.api.AutoTransferHandler;
 import me.shedaniel.rei.api.EntryStack;
 import me.shedaniel.rei.api.TransferRecipeDisplay;
+import me.shedaniel.rei.impl.InventoryMatcher;
+import me.shedaniel.rei.impl.InventoryRevisionTracker;
 import me.shedaniel.rei.server.ContainerInfo;
 import me.shedaniel.rei.server.ContainerInfoHandler;
 import net.fabricmc.fabric.api.network.ClientSidePacketRegistry;
@@ -39,13 +40,15 @@ import net.minecraft.client.gui.screen.ingame.ContainerScreen;
 import net.minecraft.client.gui.screen.recipebook.RecipeBookProvider;
 import net.minecraft.client.resource.language.I18n;
 import net.minecraft.container.Container;
+import net.minecraft.entity.player.PlayerInventory;
 import net.minecraft.item.ItemStack;
 import net.minecraft.network.PacketByteBuf;
-import net.minecraft.util.collection.DefaultedList;
 
 import java.util.List;
 
 public class DefaultCategoryHandler implements AutoTransferHandler {
+    private static final InventoryRevisionTracker INVENTORY_TRACKER = new InventoryRevisionTracker();
+    private static InventoryMatcher inventoryMatcher;
     
     public static boolean canUseMovePackets() {
         return ClientSidePacketRegistry.INSTANCE.canServerReceive(RoughlyEnoughItemsNetwork.MOVE_ITEMS_PACKET);
@@ -99,37 +102,9 @@ public class DefaultCategoryHandler implements AutoTransferHandler {
     }
     
     public IntList hasItems(List<List<EntryStack>> inputs) {
-        // Create a clone of player's inventory, and count
-        DefaultedList<ItemStack> copyMain = DefaultedList.of();
-        for (ItemStack stack : MinecraftClient.getInstance().player.inventory.main) {
-            copyMain.add(stack.copy());
-        }
-        IntList intList = new IntArrayList();
-        for (int i = 0; i < inputs.size(); i++) {
-            List<EntryStack> possibleStacks = inputs.get(i);
-            boolean done = possibleStacks.isEmpty();
-            for (EntryStack possibleStack : possibleStacks) {
-                if (!done) {
-                    int invRequiredCount = possibleStack.getAmount();
-                    for (ItemStack stack : copyMain) {
-                        EntryStack entryStack = EntryStack.create(stack);
-                        if (entryStack.equals(possibleStack)) {
-                            while (invRequiredCount > 0 && !stack.isEmpty()) {
-                                invRequiredCount--;
-                                stack.decrement(1);
-                            }
-                        }
-                    }
-                    if (invRequiredCount <= 0) {
-                        done = true;
-                        break;
-                    }
-                }
-            }
-            if (!done) {
-                intList.add(i);
-            }
-        }
-        return intList;
+        PlayerInventory inventory = MinecraftClient.getInstance().player.inventory;
+        if (INVENTORY_TRACKER.update(inventory) || inventoryMatcher == null)
+            inventoryMatcher = new InventoryMatcher(inventory.main);
+        return inventoryMatcher.getMissingSlots(inputs);
     }
 }